@@ -1,19 +1,21 @@
-package com.offer;
-
-import org.springframework.boot.SpringApplication;
-import org.springframework.boot.autoconfigure.SpringBootApplication;
-
-
-/**
- * Hello world!
- *
- */
-@SpringBootApplication
-public class RewardsApplication 
-{
-    public static void main( String[] args )
-    {
-        System.out.println( "Hello World!" );
-        SpringApplication.run(RewardsApplication.class, args);
-    }
-}
+package com.offer;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+
+/**
+ * Hello world!
+ *
+ */
+@SpringBootApplication
+@EnableScheduling
+public class RewardsApplication 
+{
+    public static void main( String[] args )
+    {
+        System.out.println( "Hello World!" );
+        SpringApplication.run(RewardsApplication.class, args);
+    }
+}
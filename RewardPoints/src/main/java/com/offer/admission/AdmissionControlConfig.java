@@ -0,0 +1,74 @@
+package com.offer.admission;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableConfigurationProperties(AdmissionControlProperties.class)
+@ConditionalOnProperty(prefix = "reward.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfig {
+
+	private static final Logger log = LoggerFactory.getLogger(AdmissionControlConfig.class);
+
+	/*
+	 * Below bean builds one limiter per configured endpoint group, publishes its metrics and
+	 * registers the filter ahead of the rest of the chain so shed requests cost as little as possible
+	 */
+	@Bean
+	public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+			AdmissionControlProperties properties, MeterRegistry meterRegistry) {
+
+		List<AdmissionControlFilter.Route> routes = new ArrayList<>();
+		for (Map.Entry<String, AdmissionControlProperties.Endpoint> entry : properties.getEndpoints().entrySet()) {
+			AdmissionControlProperties.Endpoint endpoint = entry.getValue();
+			ConcurrencyLimiter limiter = new ConcurrencyLimiter(entry.getKey(), endpoint.getInitialLimit(),
+					endpoint.getMinLimit(), endpoint.getMaxLimit(), endpoint.getMaxQueue(),
+					endpoint.getMaxWait().toNanos(), endpoint.isAdaptive());
+			registerMetrics(limiter, meterRegistry);
+			routes.add(new AdmissionControlFilter.Route(endpoint.getPathPatterns(), limiter,
+					Math.max(1, endpoint.getRetryAfter().toSeconds())));
+			log.info("Admission control enabled for {} | patterns={} | {}", entry.getKey(),
+					endpoint.getPathPatterns(), limiter);
+		}
+
+		if (!properties.getExcludePathPatterns().isEmpty()) {
+			log.info("Admission control bypassed | patterns={}", properties.getExcludePathPatterns());
+		}
+		FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(
+				new AdmissionControlFilter(properties.getExcludePathPatterns(), routes));
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+		return registration;
+	}
+
+	private void registerMetrics(ConcurrencyLimiter limiter, MeterRegistry meterRegistry) {
+		Gauge.builder("rewards.admission.limit", limiter, ConcurrencyLimiter::getLimit)
+				.description("Current concurrency limit").tag("endpoint", limiter.getName()).register(meterRegistry);
+		Gauge.builder("rewards.admission.in.flight", limiter, ConcurrencyLimiter::getInFlight)
+				.description("Requests currently executing").tag("endpoint", limiter.getName())
+				.register(meterRegistry);
+		Gauge.builder("rewards.admission.queue.depth", limiter, ConcurrencyLimiter::getQueueDepth)
+				.description("Requests waiting for a permit").tag("endpoint", limiter.getName())
+				.register(meterRegistry);
+		FunctionCounter.builder("rewards.admission.accepted", limiter, ConcurrencyLimiter::getAcceptedCount)
+				.description("Requests admitted since startup").tag("endpoint", limiter.getName())
+				.register(meterRegistry);
+		FunctionCounter.builder("rewards.admission.shed", limiter, ConcurrencyLimiter::getShedCount)
+				.description("Requests rejected with 503 since startup").tag("endpoint", limiter.getName())
+				.register(meterRegistry);
+	}
+
+}
@@ -0,0 +1,97 @@
+package com.offer.admission;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/*
+ * Below filter admits requests through the concurrency limiter of the endpoint group
+ * they belong to and answers 503 with Retry-After as soon as a request is shed,
+ * instead of letting it queue behind everyone else. Excluded paths bypass every group.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+	private static final Logger log = LoggerFactory.getLogger(AdmissionControlFilter.class);
+
+	private final AntPathMatcher pathMatcher = new AntPathMatcher();
+	private final List<String> excludedPatterns;
+	private final List<Route> routes;
+
+	public AdmissionControlFilter(List<Route> routes) {
+		this(List.of(), routes);
+	}
+
+	public AdmissionControlFilter(List<String> excludedPatterns, List<Route> routes) {
+		this.excludedPatterns = List.copyOf(excludedPatterns);
+		this.routes = List.copyOf(routes);
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+
+		Route route = resolve(request);
+		if (route == null) {
+			chain.doFilter(request, response);
+			return;
+		}
+
+		boolean admitted;
+		try {
+			admitted = route.limiter().tryAcquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			admitted = false;
+		}
+
+		if (!admitted) {
+			log.debug("Shedding request {} {} | limiter={}", request.getMethod(), request.getRequestURI(),
+					route.limiter());
+			response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+			response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(route.retryAfterSeconds()));
+			response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+			response.getWriter().write("{\"error\":\"Service is over capacity, retry later\"}");
+			return;
+		}
+
+		long start = System.nanoTime();
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			route.limiter().release(System.nanoTime() - start);
+		}
+	}
+
+	private Route resolve(HttpServletRequest request) {
+		String path = request.getRequestURI().substring(request.getContextPath().length());
+		for (String pattern : excludedPatterns) {
+			if (pathMatcher.match(pattern, path)) {
+				return null;
+			}
+		}
+		for (Route route : routes) {
+			for (String pattern : route.pathPatterns()) {
+				if (pathMatcher.match(pattern, path)) {
+					return route;
+				}
+			}
+		}
+		return null;
+	}
+
+	public record Route(List<String> pathPatterns, ConcurrencyLimiter limiter, long retryAfterSeconds) {
+	}
+
+}
@@ -0,0 +1,105 @@
+package com.offer.admission;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/*
+ * Admission control settings, bound from reward.admission.*
+ *
+ * Each entry under endpoints defines one concurrency limit shared by all requests
+ * whose path matches one of its patterns. The first matching entry wins. Paths matching
+ * exclude-path-patterns, such as long-lived event streams, are never limited.
+ */
+@ConfigurationProperties(prefix = "reward.admission")
+public class AdmissionControlProperties {
+
+	private boolean enabled = true;
+	private List<String> excludePathPatterns = new ArrayList<>();
+	private Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+	public List<String> getExcludePathPatterns() {
+		return excludePathPatterns;
+	}
+	public void setExcludePathPatterns(List<String> excludePathPatterns) {
+		this.excludePathPatterns = excludePathPatterns;
+	}
+	public Map<String, Endpoint> getEndpoints() {
+		return endpoints;
+	}
+	public void setEndpoints(Map<String, Endpoint> endpoints) {
+		this.endpoints = endpoints;
+	}
+
+	public static class Endpoint {
+
+		private List<String> pathPatterns = new ArrayList<>();
+		private int initialLimit = 32;
+		private int minLimit = 4;
+		private int maxLimit = 128;
+		private int maxQueue = 64;
+		private Duration maxWait = Duration.ofMillis(100);
+		private Duration retryAfter = Duration.ofSeconds(1);
+		private boolean adaptive = true;
+
+		public List<String> getPathPatterns() {
+			return pathPatterns;
+		}
+		public void setPathPatterns(List<String> pathPatterns) {
+			this.pathPatterns = pathPatterns;
+		}
+		public int getInitialLimit() {
+			return initialLimit;
+		}
+		public void setInitialLimit(int initialLimit) {
+			this.initialLimit = initialLimit;
+		}
+		public int getMinLimit() {
+			return minLimit;
+		}
+		public void setMinLimit(int minLimit) {
+			this.minLimit = minLimit;
+		}
+		public int getMaxLimit() {
+			return maxLimit;
+		}
+		public void setMaxLimit(int maxLimit) {
+			this.maxLimit = maxLimit;
+		}
+		public int getMaxQueue() {
+			return maxQueue;
+		}
+		public void setMaxQueue(int maxQueue) {
+			this.maxQueue = maxQueue;
+		}
+		public Duration getMaxWait() {
+			return maxWait;
+		}
+		public void setMaxWait(Duration maxWait) {
+			this.maxWait = maxWait;
+		}
+		public Duration getRetryAfter() {
+			return retryAfter;
+		}
+		public void setRetryAfter(Duration retryAfter) {
+			this.retryAfter = retryAfter;
+		}
+		public boolean isAdaptive() {
+			return adaptive;
+		}
+		public void setAdaptive(boolean adaptive) {
+			this.adaptive = adaptive;
+		}
+	}
+
+}
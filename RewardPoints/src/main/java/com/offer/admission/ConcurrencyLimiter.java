@@ -0,0 +1,192 @@
+package com.offer.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caps the number of requests executing concurrently for one group of endpoints.
+ *
+ * A request that finds the limit reached waits in a bounded queue for at most
+ * {@code maxWaitNanos}; once the queue is full or the wait expires it is shed.
+ *
+ * When adaptive, the limit follows a gradient on observed latency: a slow moving
+ * average stands for the no-load latency and a fast one for current latency. While
+ * the two agree the limit grows by roughly its square root, and as current latency
+ * rises above the baseline the limit shrinks proportionally, never leaving
+ * [minLimit, maxLimit].
+ */
+public class ConcurrencyLimiter {
+
+	private static final double SHORT_LATENCY_WEIGHT = 0.1;
+	private static final double LONG_LATENCY_WEIGHT = 0.01;
+	private static final double LIMIT_SMOOTHING = 0.2;
+	private static final double MIN_GRADIENT = 0.5;
+
+	private final String name;
+	private final int minLimit;
+	private final int maxLimit;
+	private final int maxQueue;
+	private final long maxWaitNanos;
+	private final boolean adaptive;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition permitReleased = lock.newCondition();
+
+	private volatile double estimatedLimit;
+	private int inFlight;
+	private int waiting;
+	private double shortLatencyNanos;
+	private double longLatencyNanos;
+
+	private final AtomicLong accepted = new AtomicLong();
+	private final AtomicLong shed = new AtomicLong();
+
+	public ConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit, int maxQueue,
+			long maxWaitNanos, boolean adaptive) {
+		if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+			throw new IllegalArgumentException("Invalid concurrency limits for " + name
+					+ ": require 1 <= minLimit <= initialLimit <= maxLimit");
+		}
+		if (maxQueue < 0 || maxWaitNanos < 0) {
+			throw new IllegalArgumentException("Queue size and wait time for " + name + " cannot be negative");
+		}
+		this.name = name;
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.maxQueue = maxQueue;
+		this.maxWaitNanos = maxWaitNanos;
+		this.adaptive = adaptive;
+		this.estimatedLimit = initialLimit;
+	}
+
+	/*
+	 * Below method returns true when the caller may proceed and must later call release,
+	 * or false when the request has to be shed
+	 */
+	public boolean tryAcquire() throws InterruptedException {
+		lock.lock();
+		try {
+			if (inFlight < getLimit()) {
+				inFlight++;
+				accepted.incrementAndGet();
+				return true;
+			}
+			if (waiting >= maxQueue) {
+				shed.incrementAndGet();
+				return false;
+			}
+
+			waiting++;
+			try {
+				long remainingNanos = maxWaitNanos;
+				while (inFlight >= getLimit()) {
+					if (remainingNanos <= 0) {
+						shed.incrementAndGet();
+						return false;
+					}
+					remainingNanos = permitReleased.awaitNanos(remainingNanos);
+				}
+				inFlight++;
+				accepted.incrementAndGet();
+				return true;
+			} finally {
+				waiting--;
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/*
+	 * Below method returns the permit and feeds the observed latency into the limit
+	 */
+	public void release(long latencyNanos) {
+		lock.lock();
+		try {
+			int inFlightBeforeRelease = inFlight;
+			inFlight--;
+			int previousLimit = getLimit();
+			if (adaptive) {
+				updateLimit(latencyNanos, inFlightBeforeRelease);
+			}
+			if (getLimit() > previousLimit) {
+				permitReleased.signalAll();
+			} else {
+				permitReleased.signal();
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void updateLimit(long latencyNanos, int inFlightBeforeRelease) {
+		if (latencyNanos <= 0) {
+			return;
+		}
+		if (longLatencyNanos == 0) {
+			shortLatencyNanos = latencyNanos;
+			longLatencyNanos = latencyNanos;
+			return;
+		}
+		shortLatencyNanos += SHORT_LATENCY_WEIGHT * (latencyNanos - shortLatencyNanos);
+		longLatencyNanos += LONG_LATENCY_WEIGHT * (latencyNanos - longLatencyNanos);
+
+		/* Let the baseline recover quickly once latency drops again */
+		if (longLatencyNanos > shortLatencyNanos * 2) {
+			longLatencyNanos = shortLatencyNanos * 2;
+		}
+
+		/* Do not grow the limit while the application is not using half of it */
+		if (inFlightBeforeRelease < estimatedLimit / 2 && shortLatencyNanos <= longLatencyNanos) {
+			return;
+		}
+
+		double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, longLatencyNanos / shortLatencyNanos));
+		double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+		newLimit = estimatedLimit * (1 - LIMIT_SMOOTHING) + newLimit * LIMIT_SMOOTHING;
+		estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getLimit() {
+		return (int) estimatedLimit;
+	}
+
+	public int getInFlight() {
+		lock.lock();
+		try {
+			return inFlight;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public int getQueueDepth() {
+		lock.lock();
+		try {
+			return waiting;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public long getAcceptedCount() {
+		return accepted.get();
+	}
+
+	public long getShedCount() {
+		return shed.get();
+	}
+
+	@Override
+	public String toString() {
+		return "ConcurrencyLimiter [name=" + name + ", limit=" + getLimit() + ", maxQueue=" + maxQueue
+				+ ", maxWaitMs=" + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos) + ", adaptive=" + adaptive + "]";
+	}
+
+}
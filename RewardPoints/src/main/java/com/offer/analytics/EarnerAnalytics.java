@@ -0,0 +1,125 @@
+package com.offer.analytics;
+
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.offer.dto.MonthlyEarnerStats;
+import com.offer.repository.TransactionRepository;
+import com.offer.service.CampaignService;
+import com.offer.service.PointsEarnedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+/*
+ * Approximate population statistics per month: a HyperLogLog of the distinct customers who
+ * earned points and a quantile sketch of each earner's points for the month. Both are built
+ * from the stored history at startup and then kept current from PointsEarnedEvents, so the
+ * analytics endpoint never touches individual customers. The events are published under the
+ * customer's lock in CustomerPointsTally, so a customer's monthly total moves in order.
+ */
+@Component
+public class EarnerAnalytics {
+
+	private static final Logger log = LoggerFactory.getLogger(EarnerAnalytics.class);
+
+	private final TransactionRepository transactionRepository;
+	private final CampaignService campaignService;
+	private final int precision;
+	private final double relativeAccuracy;
+	private final Map<YearMonth, MonthSketch> months = new ConcurrentHashMap<>();
+	private final Counter updateFailures;
+
+	public EarnerAnalytics(TransactionRepository transactionRepository, CampaignService campaignService,
+			@Value("${reward.analytics.hll-precision:14}") int precision,
+			@Value("${reward.analytics.relative-accuracy:0.01}") double relativeAccuracy, MeterRegistry meterRegistry) {
+		this.transactionRepository = transactionRepository;
+		this.campaignService = campaignService;
+		this.precision = precision;
+		this.relativeAccuracy = relativeAccuracy;
+		this.updateFailures = Counter.builder("rewards.analytics.update.failures")
+				.description("Points events the earner sketches could not apply").register(meterRegistry);
+	}
+
+	/*
+	 * Below method builds the sketches from the stored transactions at startup, counting the
+	 * same campaign bonuses as ingest
+	 */
+	@PostConstruct
+	public void load() {
+		Map<YearMonth, Map<String, long[]>> pointsPerMonth = new HashMap<>();
+		transactionRepository.forEachTransaction(transaction -> pointsPerMonth
+				.computeIfAbsent(YearMonth.from(transaction.getDate()), k -> new HashMap<>())
+				.computeIfAbsent(transaction.getCustomerId(), k -> new long[1])[0] += campaignService
+						.earnedPoints(transaction));
+
+		pointsPerMonth.forEach((month, customers) -> customers.forEach((customerId, points) -> {
+			if (points[0] > 0) {
+				sketch(month).update(customerId, 0, points[0]);
+			}
+		}));
+		log.info("Earner analytics loaded | months={}", months.size());
+	}
+
+	/*
+	 * Below listener runs inside the ingest of an already stored transaction, so it never
+	 * throws: an update the sketch cannot apply is logged and counted instead
+	 */
+	@EventListener
+	public void onPointsEarned(PointsEarnedEvent event) {
+		if (event.pointsEarned() <= 0) {
+			return;
+		}
+		try {
+			sketch(event.month()).update(event.transaction().getCustomerId(), event.previousMonthPoints(),
+					event.monthPoints());
+		} catch (RuntimeException e) {
+			updateFailures.increment();
+			log.warn("Earner analytics update skipped | customerId={} | month={} | reason={}",
+					event.transaction().getCustomerId(), event.month(), e.getMessage());
+		}
+	}
+
+	public MonthlyEarnerStats getMonthlyStats(YearMonth month) {
+		MonthSketch sketch = months.get(month);
+		return sketch != null ? sketch.snapshot(month)
+				: new MonthlyEarnerStats(month.toString(), 0, 0, 0, 0, 0, relativeAccuracy);
+	}
+
+	private MonthSketch sketch(YearMonth month) {
+		return months.computeIfAbsent(month, k -> new MonthSketch(new HyperLogLog(precision),
+				new PointsDistribution(relativeAccuracy)));
+	}
+
+	private record MonthSketch(HyperLogLog earners, PointsDistribution points) {
+
+		/*
+		 * Below method moves the customer's monthly total from its previous to its new value;
+		 * the removal goes first, so an update that cannot be applied changes nothing
+		 */
+		synchronized void update(String customerId, long previousMonthPoints, long monthPoints) {
+			if (previousMonthPoints > 0) {
+				points.remove(previousMonthPoints);
+			}
+			earners.add(customerId);
+			points.add(monthPoints);
+		}
+
+		synchronized MonthlyEarnerStats snapshot(YearMonth month) {
+			return new MonthlyEarnerStats(month.toString(), earners.estimate(), earners.standardError(),
+					points.quantile(0.5), points.quantile(0.9), points.quantile(0.99),
+					points.getRelativeAccuracy());
+		}
+	}
+
+}
@@ -0,0 +1,96 @@
+package com.offer.analytics;
+
+/**
+ * Quantile sketch of non-negative point values with a fixed relative accuracy.
+ *
+ * Values are counted in logarithmic buckets (bucket i holds values in (gamma^(i-1), gamma^i]
+ * with gamma = (1 + accuracy) / (1 - accuracy)), so every reported quantile is within the
+ * relative accuracy of a true value. Unlike t-digest or KLL, the buckets are plain counters
+ * and a value can be removed again, which lets a customer's monthly total move as new
+ * transactions arrive. The number of buckets depends only on the accuracy, so a quantile
+ * query costs the same however many customers were added.
+ *
+ * Not thread-safe.
+ */
+public final class PointsDistribution {
+
+	private final double relativeAccuracy;
+	private final double logGamma;
+	private final long[] buckets;
+	private long zeroCount;
+	private long count;
+
+	public PointsDistribution(double relativeAccuracy) {
+		if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+			throw new IllegalArgumentException("Relative accuracy must be between 0 and 1");
+		}
+		this.relativeAccuracy = relativeAccuracy;
+		this.logGamma = Math.log((1 + relativeAccuracy) / (1 - relativeAccuracy));
+		this.buckets = new long[bucketIndex(Long.MAX_VALUE) + 1];
+	}
+
+	public void add(long value) {
+		if (value < 0) {
+			throw new IllegalArgumentException("Points cannot be negative");
+		}
+		if (value == 0) {
+			zeroCount++;
+		} else {
+			buckets[bucketIndex(value)]++;
+		}
+		count++;
+	}
+
+	/*
+	 * Below method removes one earlier added occurrence of the value
+	 */
+	public void remove(long value) {
+		if (value == 0 ? zeroCount == 0 : buckets[bucketIndex(value)] == 0) {
+			throw new IllegalStateException("Value " + value + " was never added");
+		}
+		if (value == 0) {
+			zeroCount--;
+		} else {
+			buckets[bucketIndex(value)]--;
+		}
+		count--;
+	}
+
+	/*
+	 * Below method returns the value at quantile q (0..1), or 0 when the sketch is empty
+	 */
+	public long quantile(double q) {
+		if (q < 0 || q > 1) {
+			throw new IllegalArgumentException("Quantile must be between 0 and 1");
+		}
+		if (count == 0) {
+			return 0;
+		}
+		/* Nearest-rank definition: the smallest value with at least q of all values at or below it */
+		long rank = Math.max(0, (long) Math.ceil(q * count) - 1);
+		long seen = zeroCount;
+		if (rank < seen) {
+			return 0;
+		}
+		for (int index = 0; index < buckets.length; index++) {
+			seen += buckets[index];
+			if (rank < seen) {
+				return Math.round(2 * Math.exp(index * logGamma) / (1 + Math.exp(logGamma)));
+			}
+		}
+		throw new IllegalStateException("Bucket counts do not add up to " + count);
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public double getRelativeAccuracy() {
+		return relativeAccuracy;
+	}
+
+	private int bucketIndex(long value) {
+		return (int) Math.ceil(Math.log(value) / logGamma);
+	}
+
+}
@@ -0,0 +1,441 @@
+package com.offer.batch;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.offer.dto.RewardSummary;
+import com.offer.dto.StatementJobStatus;
+import com.offer.exception.DataValidationException;
+import com.offer.exception.MissingRewardDataException;
+import com.offer.model.Customer;
+import com.offer.repository.TransactionRepository;
+import com.offer.service.RewardService;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/*
+ * Month-end statement job.
+ *
+ * All customers are split into fixed-size partitions which are computed in parallel on a
+ * dedicated fork-join pool. Every finished partition is written to its own part file
+ * (atomically, via a temporary file) and then appended to the checkpoint file, so a
+ * restarted job skips the partitions that were already written. Once every partition is
+ * done, the parts are merged into <output-dir>/<period>/statements-<period>.csv.
+ */
+@Component
+public class StatementJob {
+
+	private static final Logger log = LoggerFactory.getLogger(StatementJob.class);
+
+	private static final String CHECKPOINT_FILE = "checkpoint";
+	private static final String HEADER = "customerId,customerName,period,totalPoints,transactionCount,status";
+
+	private final RewardService rewardService;
+	private final TransactionRepository transactionRepository;
+	private final Path outputDir;
+	private final int partitionSize;
+	private final int parallelism;
+	private final ExecutorService launcher = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "statement-job");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final AtomicBoolean running = new AtomicBoolean();
+	private final AtomicLong processedCustomers = new AtomicLong();
+	private final AtomicInteger completedPartitions = new AtomicInteger();
+	private volatile StatementJobStatus.State state = StatementJobStatus.State.IDLE;
+	private volatile YearMonth period;
+	private volatile long totalCustomers;
+	private volatile int totalPartitions;
+	private volatile int resumedPartitions;
+	private volatile long startedNanos;
+	private volatile Instant startedAt;
+	private volatile Instant finishedAt;
+	private volatile Path outputFile;
+	private volatile String error;
+
+	public StatementJob(RewardService rewardService, TransactionRepository transactionRepository,
+			@Value("${reward.statement.output-dir:statements}") String outputDir,
+			@Value("${reward.statement.partition-size:1000}") int partitionSize,
+			@Value("${reward.statement.parallelism:0}") int parallelism, MeterRegistry meterRegistry) {
+		if (partitionSize < 1) {
+			throw new IllegalArgumentException("reward.statement.partition-size must be at least 1");
+		}
+		this.rewardService = rewardService;
+		this.transactionRepository = transactionRepository;
+		this.outputDir = Paths.get(outputDir);
+		this.partitionSize = partitionSize;
+		this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+
+		FunctionCounter.builder("rewards.statements.processed.customers", processedCustomers, AtomicLong::get)
+				.description("Customers written by the statement job").register(meterRegistry);
+		Gauge.builder("rewards.statements.completed.partitions", completedPartitions, AtomicInteger::get)
+				.description("Partitions finished in the current statement run").register(meterRegistry);
+		Gauge.builder("rewards.statements.customers.per.second", this, StatementJob::customersPerSecond)
+				.description("Throughput of the current statement run").register(meterRegistry);
+	}
+
+	/*
+	 * Below method starts the statement run for the previous month on the first of each month
+	 */
+	@Scheduled(cron = "${reward.statement.cron:0 0 2 1 * *}")
+	public void runForPreviousMonth() {
+		start(YearMonth.now().minusMonths(1));
+	}
+
+	/*
+	 * Below method resumes every run that was interrupted by a restart. Only one run can be
+	 * active at a time, so the periods are resumed one after the other on the launcher thread.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void resumeInterruptedRuns() {
+		if (!Files.isDirectory(outputDir)) {
+			return;
+		}
+		List<YearMonth> interrupted = new ArrayList<>();
+		try (Stream<Path> periods = Files.list(outputDir)) {
+			periods.filter(dir -> Files.exists(dir.resolve(CHECKPOINT_FILE))).map(dir -> dir.getFileName().toString())
+					.sorted().forEach(name -> {
+						try {
+							interrupted.add(YearMonth.parse(name));
+						} catch (DateTimeParseException e) {
+							log.warn("Ignoring checkpoint in {}, the directory name is not a period", outputDir.resolve(name));
+						}
+					});
+		} catch (IOException e) {
+			log.warn("Could not look for interrupted statement runs in {}", outputDir, e);
+		}
+		if (!interrupted.isEmpty()) {
+			launcher.execute(() -> interrupted.forEach(this::resume));
+		}
+	}
+
+	private void resume(YearMonth period) {
+		try {
+			validatePeriod(period);
+		} catch (DataValidationException e) {
+			log.warn("Interrupted statement run for {} not resumed | reason={}", period, e.getMessage());
+			return;
+		}
+		if (!running.compareAndSet(false, true)) {
+			log.warn("Interrupted statement run for {} not resumed, another run is active; POST /statements/{} resumes it",
+					period, period);
+			return;
+		}
+		log.info("Resuming interrupted statement run for {}", period);
+		runClaimed(period);
+	}
+
+	/*
+	 * Below method starts a run in the background; it returns false if a run is already active.
+	 * The run is claimed here, before it is queued, so two callers cannot both get true.
+	 */
+	public boolean start(YearMonth period) {
+		validatePeriod(period);
+		if (!running.compareAndSet(false, true)) {
+			return false;
+		}
+		try {
+			launcher.execute(() -> runClaimed(period));
+		} catch (RejectedExecutionException e) {
+			running.set(false);
+			throw e;
+		}
+		return true;
+	}
+
+	/*
+	 * Below method runs the statement job for the period on the calling thread
+	 */
+	public StatementJobStatus run(YearMonth period) {
+		validatePeriod(period);
+		if (!running.compareAndSet(false, true)) {
+			log.warn("Statement run for {} not started, another run is active", period);
+			return getStatus();
+		}
+		return runClaimed(period);
+	}
+
+	/*
+	 * Below method does the run; the caller must have claimed it by setting running
+	 */
+	private StatementJobStatus runClaimed(YearMonth period) {
+		ForkJoinPool pool = null;
+		try {
+			Path periodDir = outputDir.resolve(period.toString());
+			Path statementFile = periodDir.resolve("statements-" + period + ".csv");
+			reset(period, statementFile);
+
+			if (Files.exists(statementFile) && !Files.exists(periodDir.resolve(CHECKPOINT_FILE))) {
+				log.info("Statements for {} already written to {}", period, statementFile);
+				state = StatementJobStatus.State.COMPLETED;
+				return getStatus();
+			}
+			Files.createDirectories(periodDir);
+
+			List<String> customerIds = transactionRepository.getCustomerIds();
+			totalCustomers = customerIds.size();
+			totalPartitions = (customerIds.size() + partitionSize - 1) / partitionSize;
+
+			Set<Integer> done = readCheckpoint(periodDir, customerIds.size());
+			List<Integer> pending = new ArrayList<>();
+			for (int partition = 0; partition < totalPartitions; partition++) {
+				if (done.contains(partition)) {
+					processedCustomers.addAndGet(partitionEnd(partition, customerIds.size()) - partition * partitionSize);
+				} else {
+					pending.add(partition);
+				}
+			}
+			resumedPartitions = done.size();
+			completedPartitions.set(done.size());
+			log.info("Statement run started | period={} | customers={} | partitions={} | resumed={} | parallelism={}",
+					period, totalCustomers, totalPartitions, resumedPartitions, parallelism);
+
+			pool = new ForkJoinPool(parallelism);
+			pool.submit(() -> pending.parallelStream()
+					.forEach(partition -> processPartition(period, periodDir, customerIds, partition))).get();
+
+			mergeParts(periodDir, statementFile);
+			state = StatementJobStatus.State.COMPLETED;
+			finishedAt = Instant.now();
+			log.info("Statement run completed | period={} | customers={} | output={} | customersPerSecond={}",
+					period, totalCustomers, statementFile, String.format("%.1f", customersPerSecond()));
+		} catch (IOException | ExecutionException | RuntimeException e) {
+			fail(period, e instanceof ExecutionException ? e.getCause() : e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			fail(period, e);
+		} finally {
+			if (pool != null) {
+				awaitPartitions(pool);
+			}
+			running.set(false);
+		}
+		return getStatus();
+	}
+
+	public StatementJobStatus getStatus() {
+		StatementJobStatus status = new StatementJobStatus();
+		status.setPeriod(period != null ? period.toString() : null);
+		status.setState(state);
+		status.setTotalCustomers(totalCustomers);
+		status.setProcessedCustomers(processedCustomers.get());
+		status.setTotalPartitions(totalPartitions);
+		status.setCompletedPartitions(completedPartitions.get());
+		status.setResumedPartitions(resumedPartitions);
+		status.setCustomersPerSecond(customersPerSecond());
+		status.setStartedAt(startedAt);
+		status.setFinishedAt(finishedAt);
+		status.setOutputFile(outputFile != null ? outputFile.toString() : null);
+		status.setError(error);
+		return status;
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		launcher.shutdownNow();
+	}
+
+	/*
+	 * Below method only allows closed months, since a statement for the current or a future
+	 * month would be written once and never include the transactions still to come
+	 */
+	private static void validatePeriod(YearMonth period) {
+		if (!period.isBefore(YearMonth.now())) {
+			throw new DataValidationException("Statements can only be run for a month that has ended : " + period);
+		}
+	}
+
+	private void processPartition(YearMonth period, Path periodDir, List<String> customerIds, int partition) {
+		StringBuilder lines = new StringBuilder();
+		for (int i = partition * partitionSize; i < partitionEnd(partition, customerIds.size()); i++) {
+			lines.append(statementLine(period, customerIds.get(i))).append('\n');
+			processedCustomers.incrementAndGet();
+		}
+		try {
+			Path part = periodDir.resolve(partFileName(partition));
+			Path temporary = periodDir.resolve(partFileName(partition) + ".tmp");
+			Files.writeString(temporary, lines, StandardCharsets.UTF_8);
+			Files.move(temporary, part, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			appendCheckpoint(periodDir, partition);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		int completed = completedPartitions.incrementAndGet();
+		log.info("Statement partition done | period={} | partition={} | partitions={}/{} | customers={}/{} | customersPerSecond={}",
+				period, partition, completed, totalPartitions, processedCustomers.get(), totalCustomers,
+				String.format("%.1f", customersPerSecond()));
+	}
+
+	private String statementLine(YearMonth period, String customerId) {
+		String customerName = transactionRepository.getCustomerById(customerId).map(Customer::getName).orElse("");
+		long totalPoints = 0;
+		int transactionCount = 0;
+		String status = "OK";
+		try {
+			RewardSummary summary = rewardService.getCustomerRewards(customerId, period.atDay(1),
+					period.atEndOfMonth());
+			totalPoints = summary.getTotalPoints();
+			transactionCount = summary.getTransactions().size();
+		} catch (MissingRewardDataException e) {
+			status = "NO_ACTIVITY";
+		} catch (DataValidationException e) {
+			status = "ERROR: " + e.getMessage();
+		}
+		return csv(customerId) + "," + csv(customerName) + "," + period + "," + totalPoints + "," + transactionCount
+				+ "," + csv(status);
+	}
+
+	private synchronized void appendCheckpoint(Path periodDir, int partition) throws IOException {
+		Files.writeString(periodDir.resolve(CHECKPOINT_FILE), partition + "\n", StandardCharsets.UTF_8,
+				StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.DSYNC);
+	}
+
+	/*
+	 * Below method returns the partitions recorded by an earlier run. The first line of the
+	 * checkpoint pins the customer count and partition size; if either changed, partition
+	 * boundaries no longer line up and the run starts over.
+	 */
+	private Set<Integer> readCheckpoint(Path periodDir, int customerCount) throws IOException {
+		Path checkpoint = periodDir.resolve(CHECKPOINT_FILE);
+		String plan = "customers=" + customerCount + " partitionSize=" + partitionSize;
+		Set<Integer> done = new HashSet<>();
+		if (Files.exists(checkpoint)) {
+			List<String> lines = Files.readAllLines(checkpoint, StandardCharsets.UTF_8);
+			if (!lines.isEmpty() && lines.get(0).equals(plan)) {
+				for (String line : lines.subList(1, lines.size())) {
+					if (!line.isBlank() && Files.exists(periodDir.resolve(partFileName(Integer.parseInt(line.trim()))))) {
+						done.add(Integer.parseInt(line.trim()));
+					}
+				}
+				return done;
+			}
+			log.warn("Statement checkpoint in {} does not match the current plan ({}), starting over", periodDir,
+					plan);
+		}
+		Files.writeString(checkpoint, plan + "\n", StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.DSYNC);
+		return done;
+	}
+
+	private void mergeParts(Path periodDir, Path statementFile) throws IOException {
+		Path temporary = periodDir.resolve(statementFile.getFileName() + ".tmp");
+		try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+			writer.write(HEADER);
+			writer.write('\n');
+			for (int partition = 0; partition < totalPartitions; partition++) {
+				writer.write(Files.readString(periodDir.resolve(partFileName(partition)), StandardCharsets.UTF_8));
+			}
+		}
+		Files.move(temporary, statementFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		Files.delete(periodDir.resolve(CHECKPOINT_FILE));
+		for (int partition = 0; partition < totalPartitions; partition++) {
+			Files.deleteIfExists(periodDir.resolve(partFileName(partition)));
+		}
+	}
+
+	private void reset(YearMonth period, Path statementFile) {
+		this.period = period;
+		this.state = StatementJobStatus.State.RUNNING;
+		this.outputFile = statementFile;
+		this.error = null;
+		this.totalCustomers = 0;
+		this.totalPartitions = 0;
+		this.resumedPartitions = 0;
+		this.processedCustomers.set(0);
+		this.completedPartitions.set(0);
+		this.startedNanos = System.nanoTime();
+		this.startedAt = Instant.now();
+		this.finishedAt = null;
+	}
+
+	private void fail(YearMonth period, Throwable cause) {
+		state = StatementJobStatus.State.FAILED;
+		error = cause.toString();
+		finishedAt = Instant.now();
+		log.error("Statement run failed | period={} | completedPartitions={}/{} | a restart resumes from the checkpoint",
+				period, completedPartitions.get(), totalPartitions, cause);
+	}
+
+	/*
+	 * Below method lets partitions still in flight after a failure finish and checkpoint,
+	 * so nothing writes into the period directory once the run is reported as done
+	 */
+	private void awaitPartitions(ForkJoinPool pool) {
+		pool.shutdown();
+		try {
+			if (!pool.awaitTermination(1, TimeUnit.MINUTES)) {
+				pool.shutdownNow();
+			}
+		} catch (InterruptedException e) {
+			pool.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private double customersPerSecond() {
+		if (state != StatementJobStatus.State.RUNNING && finishedAt == null) {
+			return 0;
+		}
+		long end = finishedAt != null ? startedNanos + Duration.between(startedAt, finishedAt).toNanos()
+				: System.nanoTime();
+		double seconds = (end - startedNanos) / 1e9;
+		long processedThisRun = processedCustomers.get()
+				- Math.min(totalCustomers, (long) resumedPartitions * partitionSize);
+		return seconds > 0 ? Math.max(0, processedThisRun) / seconds : 0;
+	}
+
+	private int partitionEnd(int partition, int customerCount) {
+		return Math.min(customerCount, (partition + 1) * partitionSize);
+	}
+
+	private static String partFileName(int partition) {
+		return String.format("part-%05d.csv", partition);
+	}
+
+	private static String csv(String value) {
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+			return value;
+		}
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+
+}
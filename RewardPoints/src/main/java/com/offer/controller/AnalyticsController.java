@@ -0,0 +1,31 @@
+package com.offer.controller;
+
+import java.time.YearMonth;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.offer.analytics.EarnerAnalytics;
+import com.offer.dto.MonthlyEarnerStats;
+
+@RestController
+@RequestMapping("/analytics")
+public class AnalyticsController {
+
+	private final EarnerAnalytics earnerAnalytics;
+
+	public AnalyticsController(EarnerAnalytics earnerAnalytics) {
+		this.earnerAnalytics = earnerAnalytics;
+	}
+
+	/*
+	 * Below API returns approximate active earners and points percentiles for a month (YYYY-MM)
+	 */
+	@GetMapping("/months/{month}")
+	public MonthlyEarnerStats getMonthlyStats(@PathVariable YearMonth month) {
+		return earnerAnalytics.getMonthlyStats(month);
+	}
+
+}
@@ -0,0 +1,59 @@
+package com.offer.controller;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.offer.dto.CampaignRequest;
+import com.offer.model.Campaign;
+import com.offer.service.CampaignService;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/campaigns")
+public class CampaignController {
+
+	private static final Logger log = LoggerFactory.getLogger(CampaignController.class);
+
+	private final CampaignService campaignService;
+
+	public CampaignController(CampaignService campaignService) {
+		this.campaignService = campaignService;
+	}
+
+	/*
+	 * Below API creates a points multiplier campaign for a date window and optional customer segment
+	 */
+	@PostMapping
+	@ResponseStatus(HttpStatus.CREATED)
+	public Campaign addCampaign(@Valid @RequestBody CampaignRequest request) {
+
+		log.info("Received campaign: {}", request);
+
+		return campaignService.addCampaign(request);
+	}
+
+	@GetMapping
+	public List<Campaign> getCampaigns() {
+		return campaignService.getCampaigns();
+	}
+
+	@DeleteMapping("/{campaignId}")
+	public ResponseEntity<Void> removeCampaign(@PathVariable String campaignId) {
+		return campaignService.removeCampaign(campaignId) ? ResponseEntity.noContent().build()
+				: ResponseEntity.notFound().build();
+	}
+
+}
@@ -0,0 +1,20 @@
+package com.offer.controller;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+import com.offer.dto.Granularity;
+
+/*
+ * Below converter binds the granularity request parameter case-insensitively,
+ * so both granularity=week and granularity=WEEK are accepted
+ */
+@Component
+public class GranularityConverter implements Converter<String, Granularity> {
+
+	@Override
+	public Granularity convert(String source) {
+		return Granularity.fromParameter(source);
+	}
+
+}
@@ -0,0 +1,39 @@
+package com.offer.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.offer.dto.PointsBalance;
+import com.offer.exception.CustomerNotFoundException;
+import com.offer.repository.TransactionRepository;
+import com.offer.service.PointsLedger;
+
+@RestController
+@RequestMapping("/rewards")
+public class PointsBalanceController {
+
+	private final PointsLedger pointsLedger;
+	private final TransactionRepository transactionRepository;
+
+	public PointsBalanceController(PointsLedger pointsLedger, TransactionRepository transactionRepository) {
+		this.pointsLedger = pointsLedger;
+		this.transactionRepository = transactionRepository;
+	}
+
+	/*
+	 * Below API returns the customer's current points balance, net of expired points
+	 */
+	@GetMapping("/{customerId}/balance")
+	public PointsBalance getBalance(@PathVariable String customerId) {
+
+		transactionRepository.getCustomerById(customerId)
+				.orElseThrow(() -> new CustomerNotFoundException("Customer not found : " + customerId));
+
+		return new PointsBalance(customerId, pointsLedger.getBalance(customerId), LocalDate.now());
+	}
+
+}
@@ -1,43 +1,68 @@
-package com.offer.controller;
-
-import java.time.LocalDate;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.format.annotation.DateTimeFormat;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.RestController;
-
-import com.offer.dto.RewardSummary;
-import com.offer.service.RewardService;
-
-@RestController
-@RequestMapping("/rewards")
-public class RewardController {
-	
-    private static final Logger log = LoggerFactory.getLogger(RewardController.class);
-
-	private final RewardService rewardService;
-
-	public RewardController(RewardService rewardService) {
-		this.rewardService = rewardService;
-	}
-
-	/*
-	 * Below API is used fetch total reward points as well as reward points per each month
-	 */
-	@GetMapping("/{customerId}")
-	public RewardSummary getRewards(@PathVariable String customerId, 
-			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-	    
-		log.info("Received request for rewards: customerId={}, startDate={}, endDate={}",
-	            customerId, startDate, endDate);
-
-		return rewardService.getCustomerRewards(customerId, startDate, endDate);
-	}
-	
-}
+package com.offer.controller;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.offer.dto.Granularity;
+import com.offer.dto.RewardSummary;
+import com.offer.dto.RollingRewardSummary;
+import com.offer.service.RewardService;
+
+@RestController
+@RequestMapping("/rewards")
+public class RewardController {
+	
+    private static final Logger log = LoggerFactory.getLogger(RewardController.class);
+
+	private final RewardService rewardService;
+
+	public RewardController(RewardService rewardService) {
+		this.rewardService = rewardService;
+	}
+
+	/*
+	 * Below API is used fetch total reward points as well as reward points per each month,
+	 * or per day / week / quarter / year when a granularity is given, optionally limited
+	 * to a set of merchant categories
+	 */
+	@GetMapping("/{customerId}")
+	public RewardSummary getRewards(@PathVariable String customerId, 
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+			@RequestParam(defaultValue = "month") Granularity granularity,
+			@RequestParam(required = false) Set<String> categories) {
+	    
+		log.info("Received request for rewards: customerId={}, startDate={}, endDate={}, granularity={}, categories={}",
+	            customerId, startDate, endDate, granularity, categories);
+
+		return rewardService.getCustomerRewards(customerId, startDate, endDate, granularity,
+				categories != null ? categories : Set.of());
+	}
+
+	/*
+	 * Below API returns the points of every rolling window (e.g. 3 months, moving 1 month at a time)
+	 * inside the date range
+	 */
+	@GetMapping("/{customerId}/rolling")
+	public RollingRewardSummary getRollingRewards(@PathVariable String customerId,
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+			@RequestParam(defaultValue = "3") int windowMonths,
+			@RequestParam(defaultValue = "1") int stepMonths) {
+
+		log.info("Received request for rolling rewards: customerId={}, startDate={}, endDate={}, windowMonths={}, stepMonths={}",
+				customerId, startDate, endDate, windowMonths, stepMonths);
+
+		return rewardService.getRollingRewards(customerId, startDate, endDate, windowMonths, stepMonths);
+	}
+	
+}
@@ -0,0 +1,45 @@
+package com.offer.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.offer.exception.CustomerNotFoundException;
+import com.offer.repository.TransactionRepository;
+import com.offer.service.PointsUpdateBroadcaster;
+
+@RestController
+@RequestMapping("/rewards")
+public class RewardStreamController {
+	
+    private static final Logger log = LoggerFactory.getLogger(RewardStreamController.class);
+
+	private final PointsUpdateBroadcaster broadcaster;
+	private final TransactionRepository transactionRepository;
+
+	public RewardStreamController(PointsUpdateBroadcaster broadcaster, TransactionRepository transactionRepository) {
+		this.broadcaster = broadcaster;
+		this.transactionRepository = transactionRepository;
+	}
+
+	/*
+	 * Below API opens a server-sent event stream that receives a "points" event every time
+	 * a transaction is ingested for the customer
+	 */
+	@GetMapping(path = "/{customerId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter streamPoints(@PathVariable String customerId) {
+
+		transactionRepository.getCustomerById(customerId)
+				.orElseThrow(() -> new CustomerNotFoundException("Customer not found : " + customerId));
+
+		log.info("Opening points stream: customerId={}", customerId);
+
+		return broadcaster.subscribe(customerId);
+	}
+	
+}
@@ -0,0 +1,51 @@
+package com.offer.controller;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import com.offer.dto.RewardSummary;
+
+/*
+ * Below converter writes RewardSummary responses with RewardSummaryJsonWriter straight to the
+ * response stream. Spring Boot puts HttpMessageConverter beans ahead of its defaults, so it
+ * takes over from Jackson for this one type; the JSON is unchanged. Only the exact class is
+ * handled, so a subclass with extra properties still goes through Jackson.
+ */
+@Component
+public class RewardSummaryHttpMessageConverter extends AbstractHttpMessageConverter<RewardSummary> {
+
+	private final RewardSummaryJsonWriter writer;
+
+	public RewardSummaryHttpMessageConverter(@Value("${reward.json.buffer-size:8192}") int bufferSize,
+			@Value("${reward.json.pooled-buffers:64}") int pooledBuffers) {
+		super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+		this.writer = new RewardSummaryJsonWriter(bufferSize, pooledBuffers);
+	}
+
+	@Override
+	protected boolean supports(Class<?> clazz) {
+		return clazz == RewardSummary.class;
+	}
+
+	@Override
+	public boolean canRead(Class<?> clazz, MediaType mediaType) {
+		return false;
+	}
+
+	@Override
+	protected RewardSummary readInternal(Class<? extends RewardSummary> clazz, HttpInputMessage inputMessage) {
+		throw new HttpMessageNotReadableException("RewardSummary is a response type only", inputMessage);
+	}
+
+	@Override
+	protected void writeInternal(RewardSummary summary, HttpOutputMessage outputMessage) throws IOException {
+		writer.write(summary, outputMessage.getBody());
+	}
+}
@@ -0,0 +1,391 @@
+package com.offer.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import com.offer.dto.CampaignBonus;
+import com.offer.dto.RewardSummary;
+import com.offer.dto.RewardTransactionPoints;
+
+/*
+ * Hand-written JSON encoder for RewardSummary. It writes UTF-8 bytes into a pooled buffer that
+ * is flushed straight to the output stream, so a response builds no String, char[] or
+ * intermediate JSON tree. Longs and dates are written digit by digit without boxing or
+ * formatting, and amounts that are whole cents take a digit path as well.
+ *
+ * The output is byte-for-byte what Jackson writes for the same summary with Spring Boot's
+ * defaults: properties in declaration order, nulls written as null, ISO dates, an empty
+ * campaign list omitted, and Jackson's string escaping. RewardSummaryJsonWriterTest checks
+ * this, so a new DTO property has to be added here as well.
+ */
+final class RewardSummaryJsonWriter {
+
+	/* Largest single reservation: a JSON escape is 6 bytes, a long 20, a cents amount 21 */
+	private static final int MIN_BUFFER_SIZE = 64;
+
+	private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] NULL = ascii("null");
+
+	private static final byte[] CUSTOMER_ID = ascii("{\"customerId\":");
+	private static final byte[] CUSTOMER_NAME = ascii(",\"customerName\":");
+	private static final byte[] CUSTOMER_MAIL = ascii(",\"customerMail\":");
+	private static final byte[] POINTS_PER_MONTH = ascii(",\"pointsPerMonth\":");
+	private static final byte[] POINTS_PER_CATEGORY = ascii(",\"pointsPerCategory\":");
+	private static final byte[] TOTAL_POINTS = ascii(",\"totalPoints\":");
+	private static final byte[] TRANSACTIONS = ascii(",\"transactions\":");
+
+	private static final byte[] TRANSACTION_ID = ascii("{\"transactionId\":");
+	private static final byte[] DATE = ascii(",\"date\":");
+	private static final byte[] AMOUNT = ascii(",\"amount\":");
+	private static final byte[] POINTS = ascii(",\"points\":");
+	private static final byte[] CATEGORY = ascii(",\"category\":");
+	private static final byte[] CAMPAIGNS = ascii(",\"campaigns\":");
+
+	private static final byte[] CAMPAIGN_ID = ascii("{\"campaignId\":");
+	private static final byte[] NAME = ascii(",\"name\":");
+	private static final byte[] MULTIPLIER = ascii(",\"multiplier\":");
+	private static final byte[] BONUS_POINTS = ascii(",\"bonusPoints\":");
+
+	private final int bufferSize;
+	private final BlockingQueue<byte[]> buffers;
+
+	RewardSummaryJsonWriter(int bufferSize, int pooledBuffers) {
+		if (bufferSize < MIN_BUFFER_SIZE) {
+			throw new IllegalArgumentException("reward.json.buffer-size must be at least " + MIN_BUFFER_SIZE);
+		}
+		if (pooledBuffers < 1) {
+			throw new IllegalArgumentException("reward.json.pooled-buffers must be at least 1");
+		}
+		this.bufferSize = bufferSize;
+		this.buffers = new ArrayBlockingQueue<>(pooledBuffers);
+	}
+
+	void write(RewardSummary summary, OutputStream out) throws IOException {
+		byte[] buffer = buffers.poll();
+		if (buffer == null) {
+			buffer = new byte[bufferSize];
+		}
+		try {
+			Sink sink = new Sink(buffer, out);
+			sink.summary(summary);
+			sink.flush();
+		} finally {
+			/* A full pool drops the buffer; one more allocation under a burst beats holding them all */
+			buffers.offer(buffer);
+		}
+	}
+
+	int idleBuffers() {
+		return buffers.size();
+	}
+
+	private static byte[] ascii(String value) {
+		return value.getBytes(StandardCharsets.US_ASCII);
+	}
+
+	private static final class Sink {
+
+		private final byte[] buffer;
+		private final OutputStream out;
+		private int position;
+
+		private Sink(byte[] buffer, OutputStream out) {
+			this.buffer = buffer;
+			this.out = out;
+		}
+
+		private void summary(RewardSummary summary) throws IOException {
+			if (summary == null) {
+				raw(NULL);
+				return;
+			}
+			raw(CUSTOMER_ID);
+			string(summary.getCustomerId());
+			raw(CUSTOMER_NAME);
+			string(summary.getCustomerName());
+			raw(CUSTOMER_MAIL);
+			string(summary.getCustomerMail());
+			raw(POINTS_PER_MONTH);
+			pointsMap(summary.getPointsPerMonth());
+			raw(POINTS_PER_CATEGORY);
+			pointsMap(summary.getPointsPerCategory());
+			raw(TOTAL_POINTS);
+			Long totalPoints = summary.getTotalPoints();
+			if (totalPoints == null) {
+				raw(NULL);
+			} else {
+				longValue(totalPoints);
+			}
+			raw(TRANSACTIONS);
+			transactions(summary.getTransactions());
+			put('}');
+		}
+
+		private void transactions(List<RewardTransactionPoints> transactions) throws IOException {
+			if (transactions == null) {
+				raw(NULL);
+				return;
+			}
+			put('[');
+			for (int i = 0; i < transactions.size(); i++) {
+				if (i > 0) {
+					put(',');
+				}
+				transaction(transactions.get(i));
+			}
+			put(']');
+		}
+
+		private void transaction(RewardTransactionPoints transaction) throws IOException {
+			if (transaction == null) {
+				raw(NULL);
+				return;
+			}
+			raw(TRANSACTION_ID);
+			string(transaction.getTransactionId());
+			raw(DATE);
+			date(transaction.getDate());
+			raw(AMOUNT);
+			doubleValue(transaction.getAmount());
+			raw(POINTS);
+			longValue(transaction.getPoints());
+			raw(CATEGORY);
+			string(transaction.getCategory());
+			/* campaigns is @JsonInclude(NON_EMPTY) */
+			List<CampaignBonus> campaigns = transaction.getCampaigns();
+			if (campaigns != null && !campaigns.isEmpty()) {
+				raw(CAMPAIGNS);
+				put('[');
+				for (int i = 0; i < campaigns.size(); i++) {
+					if (i > 0) {
+						put(',');
+					}
+					campaign(campaigns.get(i));
+				}
+				put(']');
+			}
+			put('}');
+		}
+
+		private void campaign(CampaignBonus campaign) throws IOException {
+			if (campaign == null) {
+				raw(NULL);
+				return;
+			}
+			raw(CAMPAIGN_ID);
+			string(campaign.getCampaignId());
+			raw(NAME);
+			string(campaign.getName());
+			raw(MULTIPLIER);
+			doubleValue(campaign.getMultiplier());
+			raw(BONUS_POINTS);
+			longValue(campaign.getBonusPoints());
+			put('}');
+		}
+
+		private void pointsMap(Map<String, Long> points) throws IOException {
+			if (points == null) {
+				raw(NULL);
+				return;
+			}
+			put('{');
+			boolean first = true;
+			for (Map.Entry<String, Long> entry : points.entrySet()) {
+				if (!first) {
+					put(',');
+				}
+				first = false;
+				string(entry.getKey());
+				put(':');
+				Long value = entry.getValue();
+				if (value == null) {
+					raw(NULL);
+				} else {
+					longValue(value);
+				}
+			}
+			put('}');
+		}
+
+		/*
+		 * Below method writes a JSON string the way Jackson's UTF-8 generator does: quote,
+		 * backslash and control characters escaped (short forms where JSON has them, upper-case
+		 * \\u00XX otherwise), surrogates escaped as \\uXXXX, everything else as raw UTF-8
+		 */
+		private void string(String value) throws IOException {
+			if (value == null) {
+				raw(NULL);
+				return;
+			}
+			put('"');
+			int length = value.length();
+			for (int i = 0; i < length; i++) {
+				char c = value.charAt(i);
+				ensure(6);
+				if (c >= 0x80) {
+					if (c < 0x800) {
+						buffer[position++] = (byte) (0xC0 | (c >> 6));
+						buffer[position++] = (byte) (0x80 | (c & 0x3F));
+					} else if (!Character.isSurrogate(c)) {
+						buffer[position++] = (byte) (0xE0 | (c >> 12));
+						buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+						buffer[position++] = (byte) (0x80 | (c & 0x3F));
+					} else {
+						/* Jackson escapes surrogates one char at a time rather than combining the pair */
+						unicodeEscape(c);
+					}
+				} else if (c == '"' || c == '\\') {
+					buffer[position++] = '\\';
+					buffer[position++] = (byte) c;
+				} else if (c >= 0x20) {
+					buffer[position++] = (byte) c;
+				} else {
+					escapeControl(c);
+				}
+			}
+			put('"');
+		}
+
+		private void escapeControl(char c) {
+			char shortForm = switch (c) {
+			case '\b' -> 'b';
+			case '\t' -> 't';
+			case '\n' -> 'n';
+			case '\f' -> 'f';
+			case '\r' -> 'r';
+			default -> 0;
+			};
+			if (shortForm == 0) {
+				unicodeEscape(c);
+			} else {
+				buffer[position++] = '\\';
+				buffer[position++] = (byte) shortForm;
+			}
+		}
+
+		private void unicodeEscape(char c) {
+			buffer[position++] = '\\';
+			buffer[position++] = 'u';
+			buffer[position++] = HEX[c >> 12];
+			buffer[position++] = HEX[(c >> 8) & 0xF];
+			buffer[position++] = HEX[(c >> 4) & 0xF];
+			buffer[position++] = HEX[c & 0xF];
+		}
+
+		/*
+		 * Below method writes an ISO-8601 date as Jackson's LocalDateSerializer does; years
+		 * outside 0..9999 need a sign and take the formatting path
+		 */
+		private void date(LocalDate date) throws IOException {
+			if (date == null) {
+				raw(NULL);
+				return;
+			}
+			int year = date.getYear();
+			if (year < 0 || year > 9999) {
+				string(date.toString());
+				return;
+			}
+			ensure(12);
+			buffer[position++] = '"';
+			digits(year, 4);
+			buffer[position++] = '-';
+			digits(date.getMonthValue(), 2);
+			buffer[position++] = '-';
+			digits(date.getDayOfMonth(), 2);
+			buffer[position++] = '"';
+		}
+
+		private void digits(int value, int width) {
+			for (int i = position + width - 1; i >= position; i--) {
+				buffer[i] = (byte) ('0' + value % 10);
+				value /= 10;
+			}
+			position += width;
+		}
+
+		private void longValue(long value) throws IOException {
+			if (value == Long.MIN_VALUE) {
+				raw(ascii(Long.toString(value)));
+				return;
+			}
+			ensure(20);
+			if (value < 0) {
+				buffer[position++] = '-';
+				value = -value;
+			}
+			int end = position + digitCount(value);
+			int i = end;
+			do {
+				buffer[--i] = (byte) ('0' + value % 10);
+				value /= 10;
+			} while (value != 0);
+			position = end;
+		}
+
+		private static int digitCount(long value) {
+			int count = 1;
+			for (long bound = 10; count < 19 && value >= bound; bound *= 10) {
+				count++;
+			}
+			return count;
+		}
+
+		/*
+		 * Below method writes a double as Double.toString (Jackson's format) would. A value in
+		 * [0.01, 1e7) that is exactly the nearest double to a whole number of cents prints as
+		 * those cents with trailing zeros trimmed, so it is written from the digits; anything
+		 * else, including non-finite values that Jackson quotes, goes through the JDK.
+		 */
+		private void doubleValue(double value) throws IOException {
+			if (value >= 0.01 && value < 1e7) {
+				long cents = Math.round(value * 100);
+				if (cents / 100.0 == value) {
+					longValue(cents / 100);
+					int fraction = (int) (cents % 100);
+					put('.');
+					put((char) ('0' + fraction / 10));
+					if (fraction % 10 != 0) {
+						put((char) ('0' + fraction % 10));
+					}
+					return;
+				}
+			}
+			if (Double.isFinite(value)) {
+				raw(ascii(Double.toString(value)));
+			} else {
+				string(Double.toString(value));
+			}
+		}
+
+		private void put(char c) throws IOException {
+			ensure(1);
+			buffer[position++] = (byte) c;
+		}
+
+		private void raw(byte[] bytes) throws IOException {
+			ensure(bytes.length);
+			System.arraycopy(bytes, 0, buffer, position, bytes.length);
+			position += bytes.length;
+		}
+
+		private void ensure(int bytes) throws IOException {
+			if (buffer.length - position < bytes) {
+				flush();
+			}
+		}
+
+		private void flush() throws IOException {
+			if (position > 0) {
+				out.write(buffer, 0, position);
+				position = 0;
+			}
+		}
+	}
+}
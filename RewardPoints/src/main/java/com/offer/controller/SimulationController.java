@@ -0,0 +1,40 @@
+package com.offer.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.offer.dto.SimulationRequest;
+import com.offer.dto.SimulationResult;
+import com.offer.service.RuleSimulationService;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/simulations")
+public class SimulationController {
+
+	private static final Logger log = LoggerFactory.getLogger(SimulationController.class);
+
+	private final RuleSimulationService ruleSimulationService;
+
+	public SimulationController(RuleSimulationService ruleSimulationService) {
+		this.ruleSimulationService = ruleSimulationService;
+	}
+
+	/*
+	 * Below API returns the total and monthly points every stored transaction would have earned
+	 * under each candidate tier configuration, next to the current rules; live data is not changed
+	 */
+	@PostMapping
+	public SimulationResult simulate(@Valid @RequestBody SimulationRequest request) {
+
+		log.info("Received rule simulation: {}", request);
+
+		return ruleSimulationService.simulate(request);
+	}
+
+}
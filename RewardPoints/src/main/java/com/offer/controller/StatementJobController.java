@@ -0,0 +1,43 @@
+package com.offer.controller;
+
+import java.time.YearMonth;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.offer.batch.StatementJob;
+import com.offer.dto.StatementJobStatus;
+
+@RestController
+@RequestMapping("/statements")
+public class StatementJobController {
+
+	private final StatementJob statementJob;
+
+	public StatementJobController(StatementJob statementJob) {
+		this.statementJob = statementJob;
+	}
+
+	/*
+	 * Below API returns the progress of the current or last statement run
+	 */
+	@GetMapping("/status")
+	public StatementJobStatus getStatus() {
+		return statementJob.getStatus();
+	}
+
+	/*
+	 * Below API starts a statement run for the given month (YYYY-MM); 409 if a run is active
+	 */
+	@PostMapping("/{period}")
+	public ResponseEntity<StatementJobStatus> start(@PathVariable YearMonth period) {
+		HttpStatus status = statementJob.start(period) ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT;
+		return ResponseEntity.status(status).body(statementJob.getStatus());
+	}
+
+}
@@ -0,0 +1,42 @@
+package com.offer.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.offer.dto.RewardTransactionPoints;
+import com.offer.dto.TransactionRequest;
+import com.offer.service.TransactionService;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/transactions")
+public class TransactionController {
+	
+    private static final Logger log = LoggerFactory.getLogger(TransactionController.class);
+
+	private final TransactionService transactionService;
+
+	public TransactionController(TransactionService transactionService) {
+		this.transactionService = transactionService;
+	}
+
+	/*
+	 * Below API is used to ingest a purchase; it returns the stored transaction with its points
+	 */
+	@PostMapping
+	@ResponseStatus(HttpStatus.CREATED)
+	public RewardTransactionPoints ingest(@Valid @RequestBody TransactionRequest request) {
+
+		log.info("Received transaction: {}", request);
+
+		return transactionService.ingest(request);
+	}
+	
+}
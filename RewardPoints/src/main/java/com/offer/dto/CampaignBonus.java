@@ -0,0 +1,50 @@
+package com.offer.dto;
+
+public class CampaignBonus {
+
+	private String campaignId;
+	private String name;
+	private double multiplier;
+	private long bonusPoints;
+
+	public String getCampaignId() {
+		return campaignId;
+	}
+	public void setCampaignId(String campaignId) {
+		this.campaignId = campaignId;
+	}
+	public String getName() {
+		return name;
+	}
+	public void setName(String name) {
+		this.name = name;
+	}
+	public double getMultiplier() {
+		return multiplier;
+	}
+	public void setMultiplier(double multiplier) {
+		this.multiplier = multiplier;
+	}
+	public long getBonusPoints() {
+		return bonusPoints;
+	}
+	public void setBonusPoints(long bonusPoints) {
+		this.bonusPoints = bonusPoints;
+	}
+	public CampaignBonus(String campaignId, String name, double multiplier, long bonusPoints) {
+		super();
+		this.campaignId = campaignId;
+		this.name = name;
+		this.multiplier = multiplier;
+		this.bonusPoints = bonusPoints;
+	}
+	public CampaignBonus() {
+		super();
+	}
+	@Override
+	public String toString() {
+		return "CampaignBonus [campaignId=" + campaignId + ", name=" + name + ", multiplier=" + multiplier
+				+ ", bonusPoints=" + bonusPoints + "]";
+	}
+
+}
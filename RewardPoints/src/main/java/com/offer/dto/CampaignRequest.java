@@ -0,0 +1,70 @@
+package com.offer.dto;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+public class CampaignRequest {
+
+	@NotBlank(message = "Campaign name cannot be null or empty")
+	private String name;
+	@NotNull(message = "Campaign start date cannot be null")
+	private LocalDate startDate;
+	@NotNull(message = "Campaign end date cannot be null")
+	private LocalDate endDate;
+	@DecimalMin(value = "1.0", message = "Campaign multiplier must be at least 1")
+	private double multiplier;
+	private Set<String> customerIds;
+
+	public String getName() {
+		return name;
+	}
+	public void setName(String name) {
+		this.name = name;
+	}
+	public LocalDate getStartDate() {
+		return startDate;
+	}
+	public void setStartDate(LocalDate startDate) {
+		this.startDate = startDate;
+	}
+	public LocalDate getEndDate() {
+		return endDate;
+	}
+	public void setEndDate(LocalDate endDate) {
+		this.endDate = endDate;
+	}
+	public double getMultiplier() {
+		return multiplier;
+	}
+	public void setMultiplier(double multiplier) {
+		this.multiplier = multiplier;
+	}
+	public Set<String> getCustomerIds() {
+		return customerIds;
+	}
+	public void setCustomerIds(Set<String> customerIds) {
+		this.customerIds = customerIds;
+	}
+	public CampaignRequest(String name, LocalDate startDate, LocalDate endDate, double multiplier,
+			Set<String> customerIds) {
+		super();
+		this.name = name;
+		this.startDate = startDate;
+		this.endDate = endDate;
+		this.multiplier = multiplier;
+		this.customerIds = customerIds;
+	}
+	public CampaignRequest() {
+		super();
+	}
+	@Override
+	public String toString() {
+		return "CampaignRequest [name=" + name + ", startDate=" + startDate + ", endDate=" + endDate
+				+ ", multiplier=" + multiplier + ", customerIds=" + customerIds + "]";
+	}
+
+}
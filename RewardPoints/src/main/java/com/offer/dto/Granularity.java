@@ -0,0 +1,98 @@
+package com.offer.dto;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.IsoFields;
+import java.util.Locale;
+
+/*
+ * Size of the time buckets used to break down reward points.
+ *
+ * Buckets are addressed by their offset from the bucket that contains the start date,
+ * so aggregation can run over a plain long[] and keys are only rendered once at the end.
+ * Keys look like 2024-01-15 (day), 2024-W03 (ISO week), 2024-01 (month), 2024-Q1 (quarter)
+ * and 2024 (year).
+ */
+public enum Granularity {
+
+	DAY, WEEK, MONTH, QUARTER, YEAR;
+
+	/* Largest number of buckets one breakdown may span, about 27 years of days */
+	public static final int MAX_BUCKETS = 10_000;
+
+	/*
+	 * Below method resolves the request parameter value, ignoring case
+	 */
+	public static Granularity fromParameter(String value) {
+		if (value == null || value.isBlank()) {
+			return MONTH;
+		}
+		try {
+			return valueOf(value.trim().toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException(
+					"Unsupported granularity: " + value + ". Use day, week, month, quarter or year.");
+		}
+	}
+
+	/*
+	 * Below method returns the offset of the bucket containing date from the bucket containing origin
+	 */
+	public int bucketIndex(LocalDate origin, LocalDate date) {
+		return Math.toIntExact(ordinal(date) - ordinal(origin));
+	}
+
+	/*
+	 * Below method returns the number of buckets needed to cover startDate..endDate; it is a
+	 * long because dates far apart span more buckets than an int can count
+	 */
+	public long bucketCount(LocalDate startDate, LocalDate endDate) {
+		return ordinal(endDate) - ordinal(startDate) + 1;
+	}
+
+	/*
+	 * Below method renders the key of the bucket at the given offset from the bucket containing origin
+	 */
+	public String bucketKey(LocalDate origin, int index) {
+		switch (this) {
+		case DAY:
+			return origin.plusDays(index).toString();
+		case WEEK:
+			LocalDate monday = LocalDate.ofEpochDay(mondayOf(origin.toEpochDay()) + 7L * index);
+			int weekBasedYear = monday.get(IsoFields.WEEK_BASED_YEAR);
+			int week = monday.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+			return weekBasedYear + (week < 10 ? "-W0" : "-W") + week;
+		case MONTH:
+			return YearMonth.from(origin).plusMonths(index).toString();
+		case QUARTER:
+			long quarter = ordinal(origin) + index;
+			return Math.floorDiv(quarter, 4) + "-Q" + (Math.floorMod(quarter, 4) + 1);
+		default:
+			return String.valueOf(origin.getYear() + index);
+		}
+	}
+
+	/*
+	 * Below method numbers buckets consecutively so that the difference of two ordinals is a bucket offset
+	 */
+	private long ordinal(LocalDate date) {
+		switch (this) {
+		case DAY:
+			return date.toEpochDay();
+		case WEEK:
+			return Math.floorDiv(mondayOf(date.toEpochDay()), 7);
+		case MONTH:
+			return date.getYear() * 12L + date.getMonthValue() - 1;
+		case QUARTER:
+			return date.getYear() * 4L + (date.getMonthValue() - 1) / 3;
+		default:
+			return date.getYear();
+		}
+	}
+
+	/* Epoch day 0 (1970-01-01) was a Thursday, three days after a Monday */
+	private static long mondayOf(long epochDay) {
+		return epochDay - Math.floorMod(epochDay + 3, 7);
+	}
+
+}
@@ -0,0 +1,75 @@
+package com.offer.dto;
+
+public class MonthlyEarnerStats {
+
+	private String month;
+	private long activeEarners;
+	private double activeEarnersStandardError;
+	private long pointsMedian;
+	private long pointsP90;
+	private long pointsP99;
+	private double pointsRelativeAccuracy;
+
+	public String getMonth() {
+		return month;
+	}
+	public void setMonth(String month) {
+		this.month = month;
+	}
+	public long getActiveEarners() {
+		return activeEarners;
+	}
+	public void setActiveEarners(long activeEarners) {
+		this.activeEarners = activeEarners;
+	}
+	public double getActiveEarnersStandardError() {
+		return activeEarnersStandardError;
+	}
+	public void setActiveEarnersStandardError(double activeEarnersStandardError) {
+		this.activeEarnersStandardError = activeEarnersStandardError;
+	}
+	public long getPointsMedian() {
+		return pointsMedian;
+	}
+	public void setPointsMedian(long pointsMedian) {
+		this.pointsMedian = pointsMedian;
+	}
+	public long getPointsP90() {
+		return pointsP90;
+	}
+	public void setPointsP90(long pointsP90) {
+		this.pointsP90 = pointsP90;
+	}
+	public long getPointsP99() {
+		return pointsP99;
+	}
+	public void setPointsP99(long pointsP99) {
+		this.pointsP99 = pointsP99;
+	}
+	public double getPointsRelativeAccuracy() {
+		return pointsRelativeAccuracy;
+	}
+	public void setPointsRelativeAccuracy(double pointsRelativeAccuracy) {
+		this.pointsRelativeAccuracy = pointsRelativeAccuracy;
+	}
+	public MonthlyEarnerStats(String month, long activeEarners, double activeEarnersStandardError,
+			long pointsMedian, long pointsP90, long pointsP99, double pointsRelativeAccuracy) {
+		super();
+		this.month = month;
+		this.activeEarners = activeEarners;
+		this.activeEarnersStandardError = activeEarnersStandardError;
+		this.pointsMedian = pointsMedian;
+		this.pointsP90 = pointsP90;
+		this.pointsP99 = pointsP99;
+		this.pointsRelativeAccuracy = pointsRelativeAccuracy;
+	}
+	public MonthlyEarnerStats() {
+		super();
+	}
+	@Override
+	public String toString() {
+		return "MonthlyEarnerStats [month=" + month + ", activeEarners=" + activeEarners + ", pointsMedian="
+				+ pointsMedian + ", pointsP90=" + pointsP90 + ", pointsP99=" + pointsP99 + "]";
+	}
+
+}
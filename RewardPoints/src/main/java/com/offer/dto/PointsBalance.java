@@ -0,0 +1,43 @@
+package com.offer.dto;
+
+import java.time.LocalDate;
+
+public class PointsBalance {
+	
+	private String customerId;
+	private long balance;
+	private LocalDate asOf;
+	
+	public String getCustomerId() {
+		return customerId;
+	}
+	public void setCustomerId(String customerId) {
+		this.customerId = customerId;
+	}
+	public long getBalance() {
+		return balance;
+	}
+	public void setBalance(long balance) {
+		this.balance = balance;
+	}
+	public LocalDate getAsOf() {
+		return asOf;
+	}
+	public void setAsOf(LocalDate asOf) {
+		this.asOf = asOf;
+	}
+	public PointsBalance(String customerId, long balance, LocalDate asOf) {
+		super();
+		this.customerId = customerId;
+		this.balance = balance;
+		this.asOf = asOf;
+	}
+	public PointsBalance() {
+		super();
+	}
+	@Override
+	public String toString() {
+		return "PointsBalance [customerId=" + customerId + ", balance=" + balance + ", asOf=" + asOf + "]";
+	}
+
+}
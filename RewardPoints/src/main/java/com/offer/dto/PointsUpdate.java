@@ -0,0 +1,81 @@
+package com.offer.dto;
+
+import java.time.LocalDate;
+
+/*
+ * Below class is the delta pushed to stream subscribers whenever a transaction is ingested
+ */
+public class PointsUpdate {
+	
+	private String customerId;
+	private String transactionId;
+	private LocalDate date;
+	private long pointsEarned;
+	private String month;
+	private long monthPoints;
+	private long totalPoints;
+	
+	public String getCustomerId() {
+		return customerId;
+	}
+	public void setCustomerId(String customerId) {
+		this.customerId = customerId;
+	}
+	public String getTransactionId() {
+		return transactionId;
+	}
+	public void setTransactionId(String transactionId) {
+		this.transactionId = transactionId;
+	}
+	public LocalDate getDate() {
+		return date;
+	}
+	public void setDate(LocalDate date) {
+		this.date = date;
+	}
+	public long getPointsEarned() {
+		return pointsEarned;
+	}
+	public void setPointsEarned(long pointsEarned) {
+		this.pointsEarned = pointsEarned;
+	}
+	public String getMonth() {
+		return month;
+	}
+	public void setMonth(String month) {
+		this.month = month;
+	}
+	public long getMonthPoints() {
+		return monthPoints;
+	}
+	public void setMonthPoints(long monthPoints) {
+		this.monthPoints = monthPoints;
+	}
+	public long getTotalPoints() {
+		return totalPoints;
+	}
+	public void setTotalPoints(long totalPoints) {
+		this.totalPoints = totalPoints;
+	}
+	public PointsUpdate(String customerId, String transactionId, LocalDate date, long pointsEarned, String month,
+			long monthPoints, long totalPoints) {
+		super();
+		this.customerId = customerId;
+		this.transactionId = transactionId;
+		this.date = date;
+		this.pointsEarned = pointsEarned;
+		this.month = month;
+		this.monthPoints = monthPoints;
+		this.totalPoints = totalPoints;
+	}
+	public PointsUpdate() {
+		super();
+	}
+	@Override
+	public String toString() {
+		return "PointsUpdate [customerId=" + customerId + ", transactionId=" + transactionId + ", date=" + date
+				+ ", pointsEarned=" + pointsEarned + ", month=" + month + ", monthPoints=" + monthPoints
+				+ ", totalPoints=" + totalPoints + "]";
+	}
+
+}
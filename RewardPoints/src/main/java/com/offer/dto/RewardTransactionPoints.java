@@ -1,55 +1,74 @@
-package com.offer.dto;
-
-import java.time.LocalDate;
-
-public class RewardTransactionPoints {
-	
-	private String transactionId;
-	private LocalDate date;
-	private double amount;
-	private long points;
-	
-	public String getTransactionId() {
-		return transactionId;
-	}
-	public void setTransactionId(String transactionId) {
-		this.transactionId = transactionId;
-	}
-	public LocalDate getDate() {
-		return date;
-	}
-	public void setDate(LocalDate date) {
-		this.date = date;
-	}
-	public double getAmount() {
-		return amount;
-	}
-	public void setAmount(double amount) {
-		this.amount = amount;
-	}
-	public long getPoints() {
-		return points;
-	}
-	public void setPoints(long points) {
-		this.points = points;
-	}
-	public RewardTransactionPoints(String transactionId, LocalDate date, double amount, long points) {
-		super();
-		this.transactionId = transactionId;
-		this.date = date;
-		this.amount = amount;
-		this.points = points;
-	}
-	@Override
-	public String toString() {
-		return "TransactionWithPoints [transactionId=" + transactionId + ", date=" + date + ", amount=" + amount
-				+ ", points=" + points + "]";
-	}
-	public RewardTransactionPoints() {
-		super();
-		// TODO Auto-generated constructor stub
-	}
-	
-	
-
-}
+package com.offer.dto;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+public class RewardTransactionPoints {
+	
+	private String transactionId;
+	private LocalDate date;
+	private double amount;
+	private long points;
+	private String category;
+	@JsonInclude(JsonInclude.Include.NON_EMPTY)
+	private List<CampaignBonus> campaigns = Collections.emptyList();
+	
+	public String getTransactionId() {
+		return transactionId;
+	}
+	public void setTransactionId(String transactionId) {
+		this.transactionId = transactionId;
+	}
+	public LocalDate getDate() {
+		return date;
+	}
+	public void setDate(LocalDate date) {
+		this.date = date;
+	}
+	public double getAmount() {
+		return amount;
+	}
+	public void setAmount(double amount) {
+		this.amount = amount;
+	}
+	public long getPoints() {
+		return points;
+	}
+	public void setPoints(long points) {
+		this.points = points;
+	}
+	public String getCategory() {
+		return category;
+	}
+	public void setCategory(String category) {
+		this.category = category;
+	}
+	public List<CampaignBonus> getCampaigns() {
+		return campaigns;
+	}
+	public void setCampaigns(List<CampaignBonus> campaigns) {
+		this.campaigns = campaigns;
+	}
+	public RewardTransactionPoints(String transactionId, LocalDate date, double amount, long points) {
+		super();
+		this.transactionId = transactionId;
+		this.date = date;
+		this.amount = amount;
+		this.points = points;
+	}
+	@Override
+	public String toString() {
+		return "TransactionWithPoints [transactionId=" + transactionId + ", date=" + date + ", amount=" + amount
+				+ ", points=" + points + ", category=" + category + ", campaigns=" + campaigns + "]";
+	}
+	public RewardTransactionPoints() {
+		super();
+		// TODO Auto-generated constructor stub
+	}
+	
+	
+
+}
@@ -0,0 +1,61 @@
+package com.offer.dto;
+
+import java.util.List;
+
+public class RollingRewardSummary {
+
+	private String customerId;
+	private String customerName;
+	private int windowMonths;
+	private int stepMonths;
+	private List<RollingWindowPoints> windows;
+
+	public String getCustomerId() {
+		return customerId;
+	}
+	public void setCustomerId(String customerId) {
+		this.customerId = customerId;
+	}
+	public String getCustomerName() {
+		return customerName;
+	}
+	public void setCustomerName(String customerName) {
+		this.customerName = customerName;
+	}
+	public int getWindowMonths() {
+		return windowMonths;
+	}
+	public void setWindowMonths(int windowMonths) {
+		this.windowMonths = windowMonths;
+	}
+	public int getStepMonths() {
+		return stepMonths;
+	}
+	public void setStepMonths(int stepMonths) {
+		this.stepMonths = stepMonths;
+	}
+	public List<RollingWindowPoints> getWindows() {
+		return windows;
+	}
+	public void setWindows(List<RollingWindowPoints> windows) {
+		this.windows = windows;
+	}
+	public RollingRewardSummary(String customerId, String customerName, int windowMonths, int stepMonths,
+			List<RollingWindowPoints> windows) {
+		super();
+		this.customerId = customerId;
+		this.customerName = customerName;
+		this.windowMonths = windowMonths;
+		this.stepMonths = stepMonths;
+		this.windows = windows;
+	}
+	public RollingRewardSummary() {
+		super();
+	}
+	@Override
+	public String toString() {
+		return "RollingRewardSummary [customerId=" + customerId + ", customerName=" + customerName
+				+ ", windowMonths=" + windowMonths + ", stepMonths=" + stepMonths + ", windows=" + windows + "]";
+	}
+
+}
@@ -0,0 +1,52 @@
+package com.offer.dto;
+
+import java.time.LocalDate;
+
+public class RollingWindowPoints {
+
+	private LocalDate startDate;
+	private LocalDate endDate;
+	private long points;
+	private int transactionCount;
+
+	public LocalDate getStartDate() {
+		return startDate;
+	}
+	public void setStartDate(LocalDate startDate) {
+		this.startDate = startDate;
+	}
+	public LocalDate getEndDate() {
+		return endDate;
+	}
+	public void setEndDate(LocalDate endDate) {
+		this.endDate = endDate;
+	}
+	public long getPoints() {
+		return points;
+	}
+	public void setPoints(long points) {
+		this.points = points;
+	}
+	public int getTransactionCount() {
+		return transactionCount;
+	}
+	public void setTransactionCount(int transactionCount) {
+		this.transactionCount = transactionCount;
+	}
+	public RollingWindowPoints(LocalDate startDate, LocalDate endDate, long points, int transactionCount) {
+		super();
+		this.startDate = startDate;
+		this.endDate = endDate;
+		this.points = points;
+		this.transactionCount = transactionCount;
+	}
+	public RollingWindowPoints() {
+		super();
+	}
+	@Override
+	public String toString() {
+		return "RollingWindowPoints [startDate=" + startDate + ", endDate=" + endDate + ", points=" + points
+				+ ", transactionCount=" + transactionCount + "]";
+	}
+
+}
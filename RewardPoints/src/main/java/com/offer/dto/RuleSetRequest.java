@@ -0,0 +1,43 @@
+package com.offer.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+public class RuleSetRequest {
+
+	@NotBlank(message = "Rule set name cannot be null or empty")
+	private String name;
+	@NotEmpty(message = "Rule set must have at least one tier")
+	@Size(max = 16, message = "Rule set cannot have more than 16 tiers")
+	private List<@Valid TierRule> tiers;
+
+	public String getName() {
+		return name;
+	}
+	public void setName(String name) {
+		this.name = name;
+	}
+	public List<TierRule> getTiers() {
+		return tiers;
+	}
+	public void setTiers(List<TierRule> tiers) {
+		this.tiers = tiers;
+	}
+	public RuleSetRequest(String name, List<TierRule> tiers) {
+		super();
+		this.name = name;
+		this.tiers = tiers;
+	}
+	public RuleSetRequest() {
+		super();
+	}
+	@Override
+	public String toString() {
+		return "RuleSetRequest [name=" + name + ", tiers=" + tiers + "]";
+	}
+
+}
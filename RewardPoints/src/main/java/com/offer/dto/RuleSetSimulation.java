@@ -0,0 +1,48 @@
+package com.offer.dto;
+
+import java.util.Map;
+
+/*
+ * Below class is the point liability one rule set would have produced: the total and the
+ * points per month (YYYY-MM, oldest first)
+ */
+public class RuleSetSimulation {
+
+	private String name;
+	private long totalPoints;
+	private Map<String, Long> pointsPerMonth;
+
+	public String getName() {
+		return name;
+	}
+	public void setName(String name) {
+		this.name = name;
+	}
+	public long getTotalPoints() {
+		return totalPoints;
+	}
+	public void setTotalPoints(long totalPoints) {
+		this.totalPoints = totalPoints;
+	}
+	public Map<String, Long> getPointsPerMonth() {
+		return pointsPerMonth;
+	}
+	public void setPointsPerMonth(Map<String, Long> pointsPerMonth) {
+		this.pointsPerMonth = pointsPerMonth;
+	}
+	public RuleSetSimulation(String name, long totalPoints, Map<String, Long> pointsPerMonth) {
+		super();
+		this.name = name;
+		this.totalPoints = totalPoints;
+		this.pointsPerMonth = pointsPerMonth;
+	}
+	public RuleSetSimulation() {
+		super();
+	}
+	@Override
+	public String toString() {
+		return "RuleSetSimulation [name=" + name + ", totalPoints=" + totalPoints + ", pointsPerMonth="
+				+ pointsPerMonth + "]";
+	}
+
+}
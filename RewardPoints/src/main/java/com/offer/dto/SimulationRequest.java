@@ -0,0 +1,33 @@
+package com.offer.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+public class SimulationRequest {
+
+	@NotEmpty(message = "Simulation needs at least one rule set")
+	@Size(max = 32, message = "Simulation cannot compare more than 32 rule sets")
+	private List<@Valid RuleSetRequest> ruleSets;
+
+	public List<RuleSetRequest> getRuleSets() {
+		return ruleSets;
+	}
+	public void setRuleSets(List<RuleSetRequest> ruleSets) {
+		this.ruleSets = ruleSets;
+	}
+	public SimulationRequest(List<RuleSetRequest> ruleSets) {
+		super();
+		this.ruleSets = ruleSets;
+	}
+	public SimulationRequest() {
+		super();
+	}
+	@Override
+	public String toString() {
+		return "SimulationRequest [ruleSets=" + ruleSets + "]";
+	}
+
+}
@@ -0,0 +1,53 @@
+package com.offer.dto;
+
+import java.util.List;
+
+public class SimulationResult {
+
+	private int customers;
+	private long transactions;
+	private RuleSetSimulation current;
+	private List<RuleSetSimulation> ruleSets;
+
+	public int getCustomers() {
+		return customers;
+	}
+	public void setCustomers(int customers) {
+		this.customers = customers;
+	}
+	public long getTransactions() {
+		return transactions;
+	}
+	public void setTransactions(long transactions) {
+		this.transactions = transactions;
+	}
+	public RuleSetSimulation getCurrent() {
+		return current;
+	}
+	public void setCurrent(RuleSetSimulation current) {
+		this.current = current;
+	}
+	public List<RuleSetSimulation> getRuleSets() {
+		return ruleSets;
+	}
+	public void setRuleSets(List<RuleSetSimulation> ruleSets) {
+		this.ruleSets = ruleSets;
+	}
+	public SimulationResult(int customers, long transactions, RuleSetSimulation current,
+			List<RuleSetSimulation> ruleSets) {
+		super();
+		this.customers = customers;
+		this.transactions = transactions;
+		this.current = current;
+		this.ruleSets = ruleSets;
+	}
+	public SimulationResult() {
+		super();
+	}
+	@Override
+	public String toString() {
+		return "SimulationResult [customers=" + customers + ", transactions=" + transactions + ", current=" + current
+				+ ", ruleSets=" + ruleSets + "]";
+	}
+
+}
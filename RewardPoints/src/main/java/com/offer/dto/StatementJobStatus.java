@@ -0,0 +1,104 @@
+package com.offer.dto;
+
+import java.time.Instant;
+
+public class StatementJobStatus {
+	
+	public enum State {
+		IDLE, RUNNING, COMPLETED, FAILED
+	}
+	
+	private String period;
+	private State state;
+	private long totalCustomers;
+	private long processedCustomers;
+	private int totalPartitions;
+	private int completedPartitions;
+	private int resumedPartitions;
+	private double customersPerSecond;
+	private Instant startedAt;
+	private Instant finishedAt;
+	private String outputFile;
+	private String error;
+	
+	public String getPeriod() {
+		return period;
+	}
+	public void setPeriod(String period) {
+		this.period = period;
+	}
+	public State getState() {
+		return state;
+	}
+	public void setState(State state) {
+		this.state = state;
+	}
+	public long getTotalCustomers() {
+		return totalCustomers;
+	}
+	public void setTotalCustomers(long totalCustomers) {
+		this.totalCustomers = totalCustomers;
+	}
+	public long getProcessedCustomers() {
+		return processedCustomers;
+	}
+	public void setProcessedCustomers(long processedCustomers) {
+		this.processedCustomers = processedCustomers;
+	}
+	public int getTotalPartitions() {
+		return totalPartitions;
+	}
+	public void setTotalPartitions(int totalPartitions) {
+		this.totalPartitions = totalPartitions;
+	}
+	public int getCompletedPartitions() {
+		return completedPartitions;
+	}
+	public void setCompletedPartitions(int completedPartitions) {
+		this.completedPartitions = completedPartitions;
+	}
+	public int getResumedPartitions() {
+		return resumedPartitions;
+	}
+	public void setResumedPartitions(int resumedPartitions) {
+		this.resumedPartitions = resumedPartitions;
+	}
+	public double getCustomersPerSecond() {
+		return customersPerSecond;
+	}
+	public void setCustomersPerSecond(double customersPerSecond) {
+		this.customersPerSecond = customersPerSecond;
+	}
+	public Instant getStartedAt() {
+		return startedAt;
+	}
+	public void setStartedAt(Instant startedAt) {
+		this.startedAt = startedAt;
+	}
+	public Instant getFinishedAt() {
+		return finishedAt;
+	}
+	public void setFinishedAt(Instant finishedAt) {
+		this.finishedAt = finishedAt;
+	}
+	public String getOutputFile() {
+		return outputFile;
+	}
+	public void setOutputFile(String outputFile) {
+		this.outputFile = outputFile;
+	}
+	public String getError() {
+		return error;
+	}
+	public void setError(String error) {
+		this.error = error;
+	}
+	@Override
+	public String toString() {
+		return "StatementJobStatus [period=" + period + ", state=" + state + ", processedCustomers="
+				+ processedCustomers + "/" + totalCustomers + ", completedPartitions=" + completedPartitions + "/"
+				+ totalPartitions + ", resumedPartitions=" + resumedPartitions + ", customersPerSecond="
+				+ customersPerSecond + "]";
+	}
+
+}
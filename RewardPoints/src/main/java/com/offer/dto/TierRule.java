@@ -0,0 +1,41 @@
+package com.offer.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+
+/*
+ * Below class is one tier of a reward rule set: every dollar above the threshold (up to the
+ * next tier's threshold) earns pointsPerDollar points
+ */
+public class TierRule {
+
+	@DecimalMin(value = "0.0", message = "Tier threshold cannot be negative")
+	private double threshold;
+	@DecimalMin(value = "0.0", message = "Tier points per dollar cannot be negative")
+	private double pointsPerDollar;
+
+	public double getThreshold() {
+		return threshold;
+	}
+	public void setThreshold(double threshold) {
+		this.threshold = threshold;
+	}
+	public double getPointsPerDollar() {
+		return pointsPerDollar;
+	}
+	public void setPointsPerDollar(double pointsPerDollar) {
+		this.pointsPerDollar = pointsPerDollar;
+	}
+	public TierRule(double threshold, double pointsPerDollar) {
+		super();
+		this.threshold = threshold;
+		this.pointsPerDollar = pointsPerDollar;
+	}
+	public TierRule() {
+		super();
+	}
+	@Override
+	public String toString() {
+		return "TierRule [threshold=" + threshold + ", pointsPerDollar=" + pointsPerDollar + "]";
+	}
+
+}
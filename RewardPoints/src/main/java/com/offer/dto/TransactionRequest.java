@@ -0,0 +1,69 @@
+package com.offer.dto;
+
+import java.time.LocalDate;
+
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+public class TransactionRequest {
+	
+	@NotBlank(message = "Customer ID cannot be null or empty")
+	private String customerId;
+	@PositiveOrZero(message = "Transaction amount cannot be negative")
+	@Digits(integer = 12, fraction = 2, message = "Transaction amount cannot have fractions of a cent")
+	private double amount;
+	@NotNull(message = "Transaction date cannot be null")
+	private LocalDate date;
+	private String category;
+	@Size(max = 128, message = "Idempotency key cannot be longer than 128 characters")
+	private String idempotencyKey;
+	
+	public String getCustomerId() {
+		return customerId;
+	}
+	public void setCustomerId(String customerId) {
+		this.customerId = customerId;
+	}
+	public double getAmount() {
+		return amount;
+	}
+	public void setAmount(double amount) {
+		this.amount = amount;
+	}
+	public LocalDate getDate() {
+		return date;
+	}
+	public void setDate(LocalDate date) {
+		this.date = date;
+	}
+	public String getCategory() {
+		return category;
+	}
+	public void setCategory(String category) {
+		this.category = category;
+	}
+	public String getIdempotencyKey() {
+		return idempotencyKey;
+	}
+	public void setIdempotencyKey(String idempotencyKey) {
+		this.idempotencyKey = idempotencyKey;
+	}
+	public TransactionRequest(String customerId, double amount, LocalDate date) {
+		super();
+		this.customerId = customerId;
+		this.amount = amount;
+		this.date = date;
+	}
+	public TransactionRequest() {
+		super();
+	}
+	@Override
+	public String toString() {
+		return "TransactionRequest [customerId=" + customerId + ", amount=" + amount + ", date=" + date + ", category="
+				+ category + ", idempotencyKey=" + idempotencyKey + "]";
+	}
+
+}
@@ -1,13 +1,13 @@
-package com.offer.exception;
-
-public class CustomerNotFoundException extends RuntimeException {
-	
-    private static final long serialVersionUID = 1L;
-
-    public CustomerNotFoundException(String message) {
-        super(message);
-    }
-
-
-
-}
+package com.offer.exception;
+
+public class CustomerNotFoundException extends RuntimeException {
+	
+    private static final long serialVersionUID = 1L;
+
+    public CustomerNotFoundException(String message) {
+        super(message);
+    }
+
+
+
+}
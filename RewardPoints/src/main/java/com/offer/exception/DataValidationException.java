@@ -1,11 +1,11 @@
-package com.offer.exception;
-
-public class DataValidationException extends RuntimeException {
-	
-    private static final long serialVersionUID = 1L;
-	
-	public DataValidationException(String message) {
-		super(message);
-	}
-
-}
+package com.offer.exception;
+
+public class DataValidationException extends RuntimeException {
+	
+    private static final long serialVersionUID = 1L;
+	
+	public DataValidationException(String message) {
+		super(message);
+	}
+
+}
@@ -0,0 +1,18 @@
+package com.offer.exception;
+
+public class DuplicateTransactionException extends RuntimeException {
+	
+    private static final long serialVersionUID = 1L;
+
+	private final String transactionId;
+	
+	public DuplicateTransactionException(String message, String transactionId) {
+		super(message);
+		this.transactionId = transactionId;
+	}
+
+	public String getTransactionId() {
+		return transactionId;
+	}
+
+}
@@ -26,5 +26,18 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
     }
 
+    /*
+     * Below handler answers a retried ingest with 409 and the id of the transaction already stored
+     */
+    @ExceptionHandler(DuplicateTransactionException.class)
+    public ResponseEntity<?> handleDuplicateTransaction(DuplicateTransactionException ex) {
+
+        Map<String, String> body = new HashMap<>();
+        body.put("error", ex.getMessage());
+        body.put("transactionId", ex.getTransactionId());
+
+        return new ResponseEntity<>(body, HttpStatus.CONFLICT);
+    }
+
 
 }
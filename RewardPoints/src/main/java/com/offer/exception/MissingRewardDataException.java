@@ -0,0 +1,16 @@
+package com.offer.exception;
+
+/*
+ * Thrown when a month of the requested range has no transactions. It is still a
+ * DataValidationException for callers of the API; the statement job tells it apart to
+ * report the customer as having no activity rather than as an error.
+ */
+public class MissingRewardDataException extends DataValidationException {
+
+	private static final long serialVersionUID = 1L;
+
+	public MissingRewardDataException(String message) {
+		super(message);
+	}
+
+}
@@ -0,0 +1,73 @@
+package com.offer.model;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+public class Campaign {
+
+	private String id;
+	private String name;
+	private LocalDate startDate;
+	private LocalDate endDate;
+	private double multiplier;
+	private Set<String> customerIds;
+
+	public Campaign(String id, String name, LocalDate startDate, LocalDate endDate, double multiplier,
+			Set<String> customerIds) {
+		super();
+		this.id = id;
+		this.name = name;
+		this.startDate = startDate;
+		this.endDate = endDate;
+		this.multiplier = multiplier;
+		this.customerIds = customerIds;
+	}
+
+	@Override
+	public String toString() {
+		return "Campaign [id=" + id + ", name=" + name + ", startDate=" + startDate + ", endDate=" + endDate
+				+ ", multiplier=" + multiplier + ", customerIds=" + customerIds + "]";
+	}
+
+	public String getId() {
+		return id;
+	}
+	public void setId(String id) {
+		this.id = id;
+	}
+	public String getName() {
+		return name;
+	}
+	public void setName(String name) {
+		this.name = name;
+	}
+	public LocalDate getStartDate() {
+		return startDate;
+	}
+	public void setStartDate(LocalDate startDate) {
+		this.startDate = startDate;
+	}
+	public LocalDate getEndDate() {
+		return endDate;
+	}
+	public void setEndDate(LocalDate endDate) {
+		this.endDate = endDate;
+	}
+	public double getMultiplier() {
+		return multiplier;
+	}
+	public void setMultiplier(double multiplier) {
+		this.multiplier = multiplier;
+	}
+	public Set<String> getCustomerIds() {
+		return customerIds;
+	}
+	public void setCustomerIds(Set<String> customerIds) {
+		this.customerIds = customerIds;
+	}
+
+	public Campaign() {
+		super();
+	}
+
+}
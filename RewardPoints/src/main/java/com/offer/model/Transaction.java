@@ -1,60 +1,107 @@
-package com.offer.model;
-
-import java.time.LocalDate;
-import java.util.UUID;
-
-public class Transaction {
-	
-	private final String id = UUID.randomUUID().toString();
-	private String customerId;
-	private double amount;
-	private LocalDate date;
-	
-	
-	
-	public String getId() {
-		return id;
-	}
-		public String getCustomerId() {
-		return customerId;
-	}
-	public void setCustomerId(String customerId) {
-		this.customerId = customerId;
-	}
-	public double getAmount() {
-		return amount;
-	}
-	public void setAmount(double amount) {
-		this.amount = amount;
-	}
-	public LocalDate getDate() {
-		return date;
-	}
-	public void setDate(LocalDate date) {
-		this.date = date;
-	}
-	
-	@Override
-	public String toString() {
-		return "Transaction [id=" + id + ", customerId=" + customerId + ", amount=" + amount + ", date=" + date + "]";
-	}
-	
-	
-	public Transaction(String customerId, double amount, LocalDate date) {
-		super();
-		this.customerId = customerId;
-		this.amount = amount;
-		this.date = date;
-	}
-	public Transaction() {
-		super();
-		// TODO Auto-generated constructor stub
-	}
-	public void setId(String string) {
-		// TODO Auto-generated method stub
-		
-	}
-	
-	
-
-}
+package com.offer.model;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.UUID;
+
+public class Transaction {
+	
+	public static final String UNCATEGORIZED = "uncategorized";
+	
+	private final String id;
+	private String customerId;
+	private double amount;
+	private LocalDate date;
+	private String category = UNCATEGORIZED;
+	private String idempotencyKey;
+	
+	
+	
+	public String getId() {
+		return id;
+	}
+		public String getCustomerId() {
+		return customerId;
+	}
+	public void setCustomerId(String customerId) {
+		this.customerId = customerId;
+	}
+	public double getAmount() {
+		return amount;
+	}
+	public void setAmount(double amount) {
+		this.amount = amount;
+	}
+	public LocalDate getDate() {
+		return date;
+	}
+	public void setDate(LocalDate date) {
+		this.date = date;
+	}
+	public String getCategory() {
+		return category;
+	}
+	public void setCategory(String category) {
+		this.category = normalizeCategory(category);
+	}
+	public String getIdempotencyKey() {
+		return idempotencyKey;
+	}
+	public void setIdempotencyKey(String idempotencyKey) {
+		this.idempotencyKey = idempotencyKey;
+	}
+	
+	@Override
+	public String toString() {
+		return "Transaction [id=" + id + ", customerId=" + customerId + ", amount=" + amount + ", date=" + date
+				+ ", category=" + category + ", idempotencyKey=" + idempotencyKey + "]";
+	}
+	
+	
+	public Transaction(String customerId, double amount, LocalDate date) {
+		this(UUID.randomUUID().toString(), customerId, amount, date);
+	}
+	
+	/*
+	 * Below constructor is used to restore a transaction whose id was already assigned,
+	 * e.g. when it is decoded back from a sealed storage block
+	 */
+	public Transaction(String id, String customerId, double amount, LocalDate date) {
+		super();
+		this.id = id;
+		this.customerId = customerId;
+		this.amount = amount;
+		this.date = date;
+	}
+	
+	public Transaction(String customerId, double amount, LocalDate date, String category) {
+		this(UUID.randomUUID().toString(), customerId, amount, date, category);
+	}
+	
+	public Transaction(String id, String customerId, double amount, LocalDate date, String category) {
+		this(id, customerId, amount, date);
+		this.category = normalizeCategory(category);
+	}
+	public Transaction() {
+		super();
+		this.id = UUID.randomUUID().toString();
+		// TODO Auto-generated constructor stub
+	}
+	public void setId(String string) {
+		// TODO Auto-generated method stub
+		
+	}
+	
+	/*
+	 * Below method maps categories to lower case so "Fuel" and "fuel" index together
+	 */
+	public static String normalizeCategory(String category) {
+		if (category == null || category.isBlank()) {
+			return UNCATEGORIZED;
+		}
+		return category.trim().toLowerCase(Locale.ROOT);
+	}
+	
+	
+
+}
@@ -0,0 +1,67 @@
+package com.offer.repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import com.offer.model.Transaction;
+
+/**
+ * Bitmap index over the hot tier. A transaction's ordinal is its position in the hot
+ * list; for every customer and category the index keeps a Roaring bitmap of the ordinals
+ * that belong to it.
+ *
+ * A query such as "customer X, categories {grocery, fuel}, Q1" intersects the customer's
+ * bitmap with each category bitmap, which costs no more than the customer's own rows, and
+ * leaves the date range to the caller, who only checks the few rows that are left.
+ *
+ * Not thread-safe; guarded by the repository lock.
+ */
+final class CategoryBitmapIndex {
+
+	private final Map<String, RoaringBitmap> byCustomer = new HashMap<>();
+	private final Map<String, RoaringBitmap> byCategory = new HashMap<>();
+
+	static CategoryBitmapIndex of(List<Transaction> transactions) {
+		CategoryBitmapIndex index = new CategoryBitmapIndex();
+		for (int ordinal = 0; ordinal < transactions.size(); ordinal++) {
+			index.add(ordinal, transactions.get(ordinal));
+		}
+		index.byCustomer.values().forEach(RoaringBitmap::runOptimize);
+		index.byCategory.values().forEach(RoaringBitmap::runOptimize);
+		return index;
+	}
+
+	void add(int ordinal, Transaction transaction) {
+		byCustomer.computeIfAbsent(transaction.getCustomerId(), k -> new RoaringBitmap()).add(ordinal);
+		byCategory.computeIfAbsent(transaction.getCategory(), k -> new RoaringBitmap()).add(ordinal);
+	}
+
+	/*
+	 * Below method returns the ordinals of the customer's transactions in the given categories.
+	 * The customer's bitmap is intersected with each category on its own, so no union of
+	 * store-wide category bitmaps is ever built.
+	 */
+	RoaringBitmap select(String customerId, Set<String> categories) {
+		RoaringBitmap result = new RoaringBitmap();
+		RoaringBitmap customerRows = byCustomer.get(customerId);
+		if (customerRows == null) {
+			return result;
+		}
+		for (String category : categories) {
+			RoaringBitmap rows = byCategory.get(category);
+			if (rows != null) {
+				result.or(RoaringBitmap.and(customerRows, rows));
+			}
+		}
+		return result;
+	}
+
+	int categoryCount() {
+		return byCategory.size();
+	}
+
+}
@@ -0,0 +1,77 @@
+package com.offer.repository;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import com.offer.model.Transaction;
+
+/**
+ * One customer's hot transactions, kept in date order for range queries.
+ *
+ * Inserts are appended in place and the array only grows by copying, so the rows below the
+ * size a reader has seen are never written again and a cursor holding (array, size) keeps a
+ * stable snapshot after the repository lock is released. A transaction dated before the last
+ * one is appended too and only marks the rows unsorted; the next read sorts them into a new
+ * array with a stable sort, so rows of the same date stay in arrival order. In-order ingests
+ * cost amortized O(1) instead of a copy of the customer's rows.
+ *
+ * Writes are guarded by the repository's write lock. {@link #sorted} may be called by
+ * concurrent readers under the read lock and synchronizes the lazy sort itself.
+ */
+final class HotTransactions {
+
+	static final HotTransactions NONE = new HotTransactions(new Transaction[0], 0);
+
+	private static final int INITIAL_CAPACITY = 8;
+	private static final Comparator<Transaction> BY_DATE = Comparator.comparing(Transaction::getDate);
+
+	private Transaction[] rows;
+	private int size;
+	private boolean sorted = true;
+
+	private HotTransactions(Transaction[] rows, int size) {
+		this.rows = rows;
+		this.size = size;
+	}
+
+	HotTransactions() {
+		this(new Transaction[INITIAL_CAPACITY], 0);
+	}
+
+	/*
+	 * Below method wraps rows that are already sorted by date
+	 */
+	static HotTransactions of(List<Transaction> sortedByDate) {
+		return new HotTransactions(sortedByDate.toArray(new Transaction[0]), sortedByDate.size());
+	}
+
+	void add(Transaction transaction) {
+		if (size == rows.length) {
+			rows = Arrays.copyOf(rows, Math.max(INITIAL_CAPACITY, size * 2));
+		}
+		if (size > 0 && transaction.getDate().isBefore(rows[size - 1].getDate())) {
+			sorted = false;
+		}
+		rows[size++] = transaction;
+	}
+
+	/*
+	 * Below method returns the rows sorted by date in the first size() slots; callers must
+	 * not modify the array
+	 */
+	synchronized Transaction[] sorted() {
+		if (!sorted) {
+			Transaction[] copy = Arrays.copyOf(rows, rows.length);
+			Arrays.sort(copy, 0, size, BY_DATE);
+			rows = copy;
+			sorted = true;
+		}
+		return rows;
+	}
+
+	int size() {
+		return size;
+	}
+
+}
@@ -0,0 +1,358 @@
+package com.offer.repository;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.roaringbitmap.IntIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import com.offer.model.Customer;
+import com.offer.model.Transaction;
+
+import jakarta.annotation.PostConstruct;
+
+/*
+ * Transactions are kept in two tiers. Recent months live in the mutable hot tier as plain
+ * Transaction objects. Closed months are sealed into immutable, compressed per-customer
+ * blocks (see SealedTransactionBlock) which are only decoded when a query range reaches them.
+ * Hot transactions are also kept per customer in append-only, date-ordered buffers (see
+ * HotTransactions), so range queries can stream them lazily (see
+ * TransactionRangeSpliterator). Category-filtered queries go through a bitmap index by
+ * customer and category for hot rows (see CategoryBitmapIndex) and through each sealed
+ * block's own category bitmaps for closed months. Transactions ingested with an
+ * idempotency key are also indexed by customer and key; that index maps to transaction ids
+ * only, so it does not keep sealed transactions alive.
+ */
+@Repository
+@ConditionalOnProperty(name = "reward.repository.type", havingValue = "memory", matchIfMissing = true)
+public class InMemoryTransactionRepository implements TransactionRepository {
+
+	private static final Logger log = LoggerFactory.getLogger(InMemoryTransactionRepository.class);
+	private final Map<String, Customer> customers = new HashMap<>();
+	private List<Transaction> transactions = new ArrayList<>();
+	private CategoryBitmapIndex hotIndex = new CategoryBitmapIndex();
+	private Map<String, HotTransactions> hotByCustomer = new HashMap<>();
+	private final Map<String, String> byIdempotencyKey = new HashMap<>();
+	private final Map<String, NavigableMap<YearMonth, SealedTransactionBlock>> sealedBlocks = new HashMap<>();
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final int hotMonths;
+
+	public InMemoryTransactionRepository(@Value("${reward.storage.hot-months:3}") int hotMonths) {
+		if (hotMonths < 1) {
+			throw new IllegalArgumentException("reward.storage.hot-months must be at least 1");
+		}
+		this.hotMonths = hotMonths;
+	}
+
+	@PostConstruct
+	public void init() {
+
+		for (Customer customer : SampleData.customers()) {
+			customers.put(customer.getId(), customer);
+		}
+		addTransactions(SampleData.transactions());
+
+		sealClosedMonths();
+	}
+
+	public Optional<Customer> getCustomerById(String customerId) {
+		return Optional.ofNullable(customers.get(customerId));
+	}
+
+	/*
+	 * Below method returns all customer ids in a stable (sorted) order
+	 */
+	public List<String> getCustomerIds() {
+		List<String> customerIds = new ArrayList<>(customers.keySet());
+		customerIds.sort(Comparator.naturalOrder());
+		return customerIds;
+	}
+
+	public List<Transaction> getTransactionsForCustomerId(String customerId, LocalDate startDate, LocalDate endDate) {
+		try (Stream<Transaction> range = streamTransactionsForCustomerId(customerId, startDate, endDate)) {
+			return range.collect(Collectors.toCollection(ArrayList::new));
+		}
+	}
+
+	/*
+	 * Below method returns a lazy stream over the customer's transactions in the date range,
+	 * in date order. Nothing is copied or sorted up front and rows are decoded as the stream
+	 * is consumed; the stream can be split by month for parallel processing. Callers should
+	 * close the stream.
+	 */
+	public Stream<Transaction> streamTransactionsForCustomerId(String customerId, LocalDate startDate,
+			LocalDate endDate) {
+		lock.readLock().lock();
+		try {
+			NavigableMap<YearMonth, SealedTransactionBlock> blocks = sealedBlocks.getOrDefault(customerId,
+					Collections.emptyNavigableMap());
+			HotTransactions hotRows = hotByCustomer.getOrDefault(customerId, HotTransactions.NONE);
+			Transaction[] hot = hotRows.sorted();
+			int hotSize = hotRows.size();
+
+			/* Clamp open-ended ranges such as LocalDate.MIN..MAX to the stored data */
+			LocalDate first = blocks.isEmpty() ? null : blocks.firstKey().atDay(1);
+			LocalDate last = blocks.isEmpty() ? null : blocks.lastKey().atEndOfMonth();
+			if (hotSize > 0) {
+				first = first == null || hot[0].getDate().isBefore(first) ? hot[0].getDate() : first;
+				LocalDate lastHot = hot[hotSize - 1].getDate();
+				last = last == null || lastHot.isAfter(last) ? lastHot : last;
+			}
+			if (first == null) {
+				return Stream.empty();
+			}
+			LocalDate from = startDate.isBefore(first) ? first : startDate;
+			LocalDate to = endDate.isAfter(last) ? last : endDate;
+			if (from.isAfter(to)) {
+				return Stream.empty();
+			}
+
+			YearMonth firstMonth = YearMonth.from(from);
+			SealedTransactionBlock[] monthBlocks = new SealedTransactionBlock[(int) firstMonth
+					.until(YearMonth.from(to), ChronoUnit.MONTHS) + 1];
+			for (SealedTransactionBlock block : blocks.subMap(firstMonth, true, YearMonth.from(to), true).values()) {
+				monthBlocks[(int) firstMonth.until(block.getMonth(), ChronoUnit.MONTHS)] = block;
+			}
+			return StreamSupport.stream(new TransactionRangeSpliterator(monthBlocks, hot, hotSize, from, to), false);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/*
+	 * Below method returns the customer's transactions in the date range whose category is
+	 * one of the given ones (all categories when the set is empty), sorted by date
+	 */
+	public List<Transaction> getTransactionsForCustomerId(String customerId, LocalDate startDate, LocalDate endDate,
+			Set<String> categories) {
+		List<Transaction> result = new ArrayList<>();
+		if (startDate.isAfter(endDate)) {
+			return result;
+		}
+		YearMonth startMonth = YearMonth.from(startDate);
+		YearMonth endMonth = YearMonth.from(endDate);
+		lock.readLock().lock();
+		try {
+			NavigableMap<YearMonth, SealedTransactionBlock> blocks = sealedBlocks.get(customerId);
+			if (blocks != null) {
+				for (SealedTransactionBlock block : blocks.subMap(startMonth, true, endMonth, true).values()) {
+					block.forEachInRange(startDate, endDate, categories, result::add);
+				}
+			}
+			if (categories == null || categories.isEmpty()) {
+				HotTransactions hotRows = hotByCustomer.getOrDefault(customerId, HotTransactions.NONE);
+				Transaction[] hot = hotRows.sorted();
+				int from = TransactionRangeSpliterator.firstOnOrAfter(hot, hotRows.size(), startDate.toEpochDay());
+				int to = TransactionRangeSpliterator.firstOnOrAfter(hot, hotRows.size(), endDate.toEpochDay() + 1);
+				for (int i = from; i < to; i++) {
+					result.add(hot[i]);
+				}
+			} else {
+				IntIterator ordinals = hotIndex.select(customerId, categories).getIntIterator();
+				while (ordinals.hasNext()) {
+					Transaction t = transactions.get(ordinals.next());
+					if (!t.getDate().isBefore(startDate) && !t.getDate().isAfter(endDate)) {
+						result.add(t);
+					}
+				}
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		result.sort(Comparator.comparing(Transaction::getDate));
+		return result;
+	}
+
+	/*
+	 * Below method visits every stored transaction, sealed months first, in no particular date order
+	 */
+	public void forEachTransaction(Consumer<Transaction> action) {
+		lock.readLock().lock();
+		try {
+			for (NavigableMap<YearMonth, SealedTransactionBlock> blocks : sealedBlocks.values()) {
+				for (SealedTransactionBlock block : blocks.values()) {
+					block.forEach(action);
+				}
+			}
+			transactions.forEach(action);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/*
+	 * Below method adds a transaction to the hot tier. Transactions dated in an already
+	 * sealed month are merged into that month's block on the next sealing run. Sealed blocks
+	 * keep amounts in whole cents, so finer amounts are refused rather than rounded later.
+	 */
+	public void addTransaction(Transaction transaction) {
+		TransactionRepository.requireWholeCents(transaction);
+		lock.writeLock().lock();
+		try {
+			hotIndex.add(transactions.size(), transaction);
+			transactions.add(transaction);
+			hotByCustomer.computeIfAbsent(transaction.getCustomerId(), k -> new HotTransactions()).add(transaction);
+			if (transaction.getIdempotencyKey() != null) {
+				byIdempotencyKey.put(idempotencyIndexKey(transaction.getCustomerId(), transaction.getIdempotencyKey()),
+						transaction.getId());
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/*
+	 * Below method resolves the key to a transaction id and looks the transaction up in the
+	 * customer's hot and sealed tiers. Sealed blocks do not keep the key, so it is put back on
+	 * the decoded copy. The lookup only runs for keys the IdempotencyGuard has already seen.
+	 */
+	public Optional<Transaction> findByIdempotencyKey(String customerId, String idempotencyKey) {
+		lock.readLock().lock();
+		try {
+			String transactionId = byIdempotencyKey.get(idempotencyIndexKey(customerId, idempotencyKey));
+			if (transactionId == null) {
+				return Optional.empty();
+			}
+			Optional<Transaction> found = findById(customerId, transactionId);
+			found.ifPresent(transaction -> transaction.setIdempotencyKey(idempotencyKey));
+			return found;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public void forEachIdempotencyKey(BiConsumer<String, String> action) {
+		lock.readLock().lock();
+		try {
+			for (String indexKey : byIdempotencyKey.keySet()) {
+				int separator = indexKey.indexOf('\u0000');
+				action.accept(indexKey.substring(0, separator), indexKey.substring(separator + 1));
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/*
+	 * Below method seals every month that has fallen out of the hot window
+	 */
+	@Scheduled(cron = "${reward.storage.seal-cron:0 5 0 1 * *}")
+	public void sealClosedMonths() {
+		sealMonthsBefore(YearMonth.now().minusMonths(hotMonths - 1));
+	}
+
+	/*
+	 * Below method moves all hot transactions dated before the cutoff month into sealed
+	 * per-customer, per-month blocks
+	 */
+	public void sealMonthsBefore(YearMonth cutoff) {
+		lock.writeLock().lock();
+		try {
+			Map<String, Map<YearMonth, List<Transaction>>> toSeal = new HashMap<>();
+			List<Transaction> stillHot = new ArrayList<>();
+			for (Transaction t : transactions) {
+				YearMonth month = YearMonth.from(t.getDate());
+				if (month.isBefore(cutoff)) {
+					toSeal.computeIfAbsent(t.getCustomerId(), k -> new HashMap<>())
+							.computeIfAbsent(month, k -> new ArrayList<>()).add(t);
+				} else {
+					stillHot.add(t);
+				}
+			}
+			if (toSeal.isEmpty()) {
+				return;
+			}
+
+			int sealedTransactions = 0;
+			long encodedBytes = 0;
+			for (Map.Entry<String, Map<YearMonth, List<Transaction>>> customerEntry : toSeal.entrySet()) {
+				NavigableMap<YearMonth, SealedTransactionBlock> blocks = sealedBlocks
+						.computeIfAbsent(customerEntry.getKey(), k -> new TreeMap<>());
+				for (Map.Entry<YearMonth, List<Transaction>> monthEntry : customerEntry.getValue().entrySet()) {
+					List<Transaction> monthTransactions = monthEntry.getValue();
+					SealedTransactionBlock existing = blocks.get(monthEntry.getKey());
+					if (existing != null) {
+						existing.forEach(monthTransactions::add);
+					}
+					monthTransactions.sort(Comparator.comparing(Transaction::getDate));
+					SealedTransactionBlock block = SealedTransactionBlock.seal(customerEntry.getKey(),
+							monthEntry.getKey(), monthTransactions);
+					blocks.put(monthEntry.getKey(), block);
+					sealedTransactions += monthTransactions.size();
+					encodedBytes += block.encodedBytes();
+				}
+			}
+			transactions = stillHot;
+			hotIndex = CategoryBitmapIndex.of(stillHot);
+			hotByCustomer = groupByCustomer(stillHot);
+
+			log.info("Sealed months before {} | customers={} | transactions={} | encodedBytes={} | hotTransactions={}",
+					cutoff, toSeal.size(), sealedTransactions, encodedBytes, stillHot.size());
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private Optional<Transaction> findById(String customerId, String transactionId) {
+		HotTransactions hotRows = hotByCustomer.getOrDefault(customerId, HotTransactions.NONE);
+		Transaction[] hot = hotRows.sorted();
+		for (int i = 0; i < hotRows.size(); i++) {
+			if (hot[i].getId().equals(transactionId)) {
+				return Optional.of(hot[i]);
+			}
+		}
+		Transaction[] found = new Transaction[1];
+		for (SealedTransactionBlock block : sealedBlocks.getOrDefault(customerId, Collections.emptyNavigableMap())
+				.values()) {
+			block.forEach(t -> {
+				if (t.getId().equals(transactionId)) {
+					found[0] = t;
+				}
+			});
+			if (found[0] != null) {
+				return Optional.of(found[0]);
+			}
+		}
+		return Optional.empty();
+	}
+
+	private static String idempotencyIndexKey(String customerId, String idempotencyKey) {
+		return customerId + '\u0000' + idempotencyKey;
+	}
+
+	private static Map<String, HotTransactions> groupByCustomer(List<Transaction> hotTransactions) {
+		Map<String, List<Transaction>> grouped = new HashMap<>();
+		for (Transaction t : hotTransactions) {
+			grouped.computeIfAbsent(t.getCustomerId(), k -> new ArrayList<>()).add(t);
+		}
+		Map<String, HotTransactions> result = new HashMap<>();
+		grouped.forEach((customerId, customerTransactions) -> {
+			customerTransactions.sort(Comparator.comparing(Transaction::getDate));
+			result.put(customerId, HotTransactions.of(customerTransactions));
+		});
+		return result;
+	}
+}
@@ -0,0 +1,229 @@
+package com.offer.repository;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.offer.model.Customer;
+import com.offer.model.Transaction;
+
+import jakarta.annotation.PostConstruct;
+
+/*
+ * Transaction store backed by an embedded SQL database (H2 file by default, see
+ * application-jdbc.properties). Range queries are served by a composite
+ * (customer_id, txn_date) index, inserts are written in JDBC batches and monthly point
+ * totals are aggregated by the database, so only one row per month is returned. Idempotency
+ * keys are unique per customer.
+ */
+@Repository
+@ConditionalOnProperty(name = "reward.repository.type", havingValue = "jdbc")
+public class JdbcTransactionRepository implements TransactionRepository {
+
+	private static final Logger log = LoggerFactory.getLogger(JdbcTransactionRepository.class);
+
+	private static final String TRANSACTION_COLUMNS = "id, customer_id, amount, txn_date, category, idempotency_key";
+
+	/* Same tier rules as PointsCalculator, evaluated per row and truncated before summing */
+	private static final String POINTS_EXPRESSION = "CAST(FLOOR(CASE"
+			+ " WHEN amount > 100 THEN (amount - 100) * 2 + 50"
+			+ " WHEN amount > 50 THEN amount - 50"
+			+ " ELSE 0 END) AS BIGINT)";
+
+	private static final RowMapper<Customer> CUSTOMER_MAPPER = (rs, rowNum) -> new Customer(rs.getString("id"),
+			rs.getString("name"), rs.getString("email"));
+
+	private static final RowMapper<Transaction> TRANSACTION_MAPPER = (rs, rowNum) -> toTransaction(rs);
+
+	private final JdbcTemplate jdbcTemplate;
+	private final NamedParameterJdbcTemplate namedJdbcTemplate;
+	private final int batchSize;
+
+	public JdbcTransactionRepository(DataSource dataSource,
+			@Value("${reward.repository.jdbc.batch-size:500}") int batchSize,
+			@Value("${reward.repository.jdbc.fetch-size:500}") int fetchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("reward.repository.jdbc.batch-size must be at least 1");
+		}
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.jdbcTemplate.setFetchSize(fetchSize);
+		this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+		this.batchSize = batchSize;
+	}
+
+	/*
+	 * Below method creates the schema if needed and loads the sample data into an empty store
+	 */
+	@PostConstruct
+	public void init() {
+		jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS customers ("
+				+ "id VARCHAR(64) PRIMARY KEY, "
+				+ "name VARCHAR(255) NOT NULL, "
+				+ "email VARCHAR(255))");
+		jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS reward_transactions ("
+				+ "seq BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+				+ "id VARCHAR(64) NOT NULL UNIQUE, "
+				+ "customer_id VARCHAR(64) NOT NULL, "
+				+ "amount DOUBLE PRECISION NOT NULL CHECK (amount >= 0), "
+				+ "txn_date DATE NOT NULL, "
+				+ "category VARCHAR(64) NOT NULL, "
+				+ "idempotency_key VARCHAR(128))");
+		jdbcTemplate.execute("ALTER TABLE reward_transactions ADD COLUMN IF NOT EXISTS idempotency_key VARCHAR(128)");
+		jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_reward_transactions_customer_date "
+				+ "ON reward_transactions (customer_id, txn_date)");
+		jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS idx_reward_transactions_customer_idempotency_key "
+				+ "ON reward_transactions (customer_id, idempotency_key)");
+
+		Integer customerCount = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customers", Integer.class);
+		if (customerCount != null && customerCount == 0) {
+			for (Customer customer : SampleData.customers()) {
+				addCustomer(customer);
+			}
+			addTransactions(SampleData.transactions());
+		}
+		log.info("JDBC transaction store ready | customers={} | transactions={}",
+				jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customers", Integer.class),
+				jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reward_transactions", Integer.class));
+	}
+
+	public void addCustomer(Customer customer) {
+		jdbcTemplate.update("INSERT INTO customers (id, name, email) VALUES (?, ?, ?)", customer.getId(),
+				customer.getName(), customer.getEmail());
+	}
+
+	public Optional<Customer> getCustomerById(String customerId) {
+		return jdbcTemplate.query("SELECT id, name, email FROM customers WHERE id = ?", CUSTOMER_MAPPER, customerId)
+				.stream().findFirst();
+	}
+
+	public List<String> getCustomerIds() {
+		return jdbcTemplate.queryForList("SELECT id FROM customers ORDER BY id", String.class);
+	}
+
+	public List<Transaction> getTransactionsForCustomerId(String customerId, LocalDate startDate, LocalDate endDate) {
+		return getTransactionsForCustomerId(customerId, startDate, endDate, Set.of());
+	}
+
+	/*
+	 * Below method streams the rows straight from the result set; the connection is held
+	 * until the stream is closed
+	 */
+	public Stream<Transaction> streamTransactionsForCustomerId(String customerId, LocalDate startDate,
+			LocalDate endDate) {
+		return jdbcTemplate.queryForStream("SELECT " + TRANSACTION_COLUMNS + " FROM reward_transactions"
+				+ " WHERE customer_id = ? AND txn_date BETWEEN ? AND ? ORDER BY txn_date, seq", TRANSACTION_MAPPER,
+				customerId, toSqlDate(startDate), toSqlDate(endDate));
+	}
+
+	public List<Transaction> getTransactionsForCustomerId(String customerId, LocalDate startDate, LocalDate endDate,
+			Set<String> categories) {
+		MapSqlParameterSource parameters = new MapSqlParameterSource()
+				.addValue("customerId", customerId)
+				.addValue("startDate", toSqlDate(startDate))
+				.addValue("endDate", toSqlDate(endDate));
+		String categoryFilter = "";
+		if (!categories.isEmpty()) {
+			categoryFilter = " AND category IN (:categories)";
+			parameters.addValue("categories", categories.stream().map(Transaction::normalizeCategory).toList());
+		}
+		return namedJdbcTemplate.query("SELECT " + TRANSACTION_COLUMNS + " FROM reward_transactions"
+				+ " WHERE customer_id = :customerId AND txn_date BETWEEN :startDate AND :endDate" + categoryFilter
+				+ " ORDER BY txn_date, seq", parameters, TRANSACTION_MAPPER);
+	}
+
+	public void forEachTransaction(Consumer<Transaction> action) {
+		jdbcTemplate.query("SELECT " + TRANSACTION_COLUMNS + " FROM reward_transactions",
+				(RowCallbackHandler) rs -> action.accept(toTransaction(rs)));
+	}
+
+	public void addTransaction(Transaction transaction) {
+		TransactionRepository.requireWholeCents(transaction);
+		jdbcTemplate.update("INSERT INTO reward_transactions (" + TRANSACTION_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?)",
+				transaction.getId(), transaction.getCustomerId(), transaction.getAmount(),
+				toSqlDate(transaction.getDate()), transaction.getCategory(), transaction.getIdempotencyKey());
+	}
+
+	/*
+	 * Below method writes the transactions in JDBC batches of reward.repository.jdbc.batch-size
+	 */
+	public void addTransactions(List<Transaction> transactions) {
+		transactions.forEach(TransactionRepository::requireWholeCents);
+		jdbcTemplate.batchUpdate("INSERT INTO reward_transactions (" + TRANSACTION_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?)",
+				transactions, batchSize, (ps, transaction) -> {
+					ps.setString(1, transaction.getId());
+					ps.setString(2, transaction.getCustomerId());
+					ps.setDouble(3, transaction.getAmount());
+					ps.setDate(4, toSqlDate(transaction.getDate()));
+					ps.setString(5, transaction.getCategory());
+					ps.setString(6, transaction.getIdempotencyKey());
+				});
+	}
+
+	public Optional<Transaction> findByIdempotencyKey(String customerId, String idempotencyKey) {
+		return jdbcTemplate.query("SELECT " + TRANSACTION_COLUMNS + " FROM reward_transactions"
+				+ " WHERE customer_id = ? AND idempotency_key = ?", TRANSACTION_MAPPER, customerId, idempotencyKey)
+				.stream().findFirst();
+	}
+
+	public void forEachIdempotencyKey(BiConsumer<String, String> action) {
+		jdbcTemplate.query("SELECT customer_id, idempotency_key FROM reward_transactions"
+				+ " WHERE idempotency_key IS NOT NULL",
+				(RowCallbackHandler) rs -> action.accept(rs.getString("customer_id"), rs.getString("idempotency_key")));
+	}
+
+	/*
+	 * Below method lets the database sum the points per month, so the result has one row per
+	 * month with transactions instead of one row per transaction
+	 */
+	public List<MonthlyPoints> getMonthlyPoints(String customerId, LocalDate startDate, LocalDate endDate) {
+		return namedJdbcTemplate.query("SELECT EXTRACT(YEAR FROM txn_date) AS txn_year,"
+				+ " EXTRACT(MONTH FROM txn_date) AS txn_month,"
+				+ " SUM(" + POINTS_EXPRESSION + ") AS points, COUNT(*) AS transaction_count"
+				+ " FROM reward_transactions"
+				+ " WHERE customer_id = :customerId AND txn_date BETWEEN :startDate AND :endDate"
+				+ " GROUP BY EXTRACT(YEAR FROM txn_date), EXTRACT(MONTH FROM txn_date)"
+				+ " ORDER BY txn_year, txn_month",
+				Map.of("customerId", customerId, "startDate", toSqlDate(startDate), "endDate", toSqlDate(endDate)),
+				(rs, rowNum) -> new MonthlyPoints(YearMonth.of(rs.getInt("txn_year"), rs.getInt("txn_month")),
+						rs.getLong("points"), rs.getInt("transaction_count")));
+	}
+
+	private static Transaction toTransaction(ResultSet rs) throws SQLException {
+		Transaction transaction = new Transaction(rs.getString("id"), rs.getString("customer_id"),
+				rs.getDouble("amount"), rs.getDate("txn_date").toLocalDate(), rs.getString("category"));
+		transaction.setIdempotencyKey(rs.getString("idempotency_key"));
+		return transaction;
+	}
+
+	/* LocalDate.MIN/MAX are used for open-ended ranges and do not fit an SQL DATE */
+	private static Date toSqlDate(LocalDate date) {
+		if (date.getYear() < 1) {
+			date = LocalDate.of(1, 1, 1);
+		} else if (date.getYear() > 9999) {
+			date = LocalDate.of(9999, 12, 31);
+		}
+		return Date.valueOf(date);
+	}
+}
@@ -0,0 +1,9 @@
+package com.offer.repository;
+
+import java.time.YearMonth;
+
+/*
+ * Below record holds one month of a customer's aggregated base points
+ */
+public record MonthlyPoints(YearMonth month, long points, int transactionCount) {
+}
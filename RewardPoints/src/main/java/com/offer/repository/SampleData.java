@@ -0,0 +1,30 @@
+package com.offer.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.offer.model.Customer;
+import com.offer.model.Transaction;
+
+/*
+ * Below class holds the demo customers and transactions every store starts with
+ */
+final class SampleData {
+
+	private SampleData() {
+	}
+
+	static List<Customer> customers() {
+		return List.of(new Customer("1", "Neelima Sivaiahgari", "neelima@gmail.com"),
+				new Customer("2", "Sekhar", "sekhar@gmail.com"));
+	}
+
+	static List<Transaction> transactions() {
+		return List.of(new Transaction("1", 120.0, LocalDate.of(2025, 1, 10), "grocery"),
+				new Transaction("1", 75.0, LocalDate.of(2025, 2, 5), "fuel"),
+				new Transaction("1", 200.0, LocalDate.of(2025, 3, 12), "electronics"),
+
+				new Transaction("2", 60.0, LocalDate.of(2025, 2, 3), "grocery"),
+				new Transaction("2", 130.0, LocalDate.of(2025, 3, 18), "travel"));
+	}
+}
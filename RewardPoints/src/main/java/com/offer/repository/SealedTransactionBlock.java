@@ -0,0 +1,308 @@
+package com.offer.repository;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import com.offer.model.Transaction;
+
+/**
+ * Immutable, compressed copy of one customer's transactions for one closed month.
+ *
+ * Rows are stored sorted by date. Each row is encoded as a varint day offset from the
+ * first day of the month, a zig-zag varint amount in cents, a varint code into the
+ * block's category dictionary and the transaction id as two raw longs. Ids that are not
+ * UUIDs are kept aside as plain strings. Amounts are stored to the cent.
+ *
+ * Nothing is materialized until {@link #forEachInRange} is called. A block with more than
+ * one category also keeps a Roaring bitmap of row ordinals per category and the byte
+ * offset of every row, so a category-filtered read ORs the wanted bitmaps and decodes
+ * only the rows they select.
+ */
+final class SealedTransactionBlock {
+
+	private final String customerId;
+	private final YearMonth month;
+	private final int size;
+	private final byte[] data;
+	private final String[] irregularIds;
+	private final String[] categories;
+	private final RoaringBitmap[] rowsByCategory;
+	private final int[] rowOffsets;
+
+	private SealedTransactionBlock(String customerId, YearMonth month, int size, byte[] data, String[] irregularIds,
+			String[] categories, RoaringBitmap[] rowsByCategory, int[] rowOffsets) {
+		this.customerId = customerId;
+		this.month = month;
+		this.size = size;
+		this.data = data;
+		this.irregularIds = irregularIds;
+		this.categories = categories;
+		this.rowsByCategory = rowsByCategory;
+		this.rowOffsets = rowOffsets;
+	}
+
+	/*
+	 * Below method encodes the given transactions, which must all belong to the same
+	 * customer and month and be sorted by date
+	 */
+	static SealedTransactionBlock seal(String customerId, YearMonth month, List<Transaction> sortedTransactions) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(sortedTransactions.size() * 20);
+		String[] irregularIds = null;
+		Map<String, Integer> categoryCodes = new LinkedHashMap<>();
+		List<RoaringBitmap> rowsByCategory = new ArrayList<>();
+		int[] rowOffsets = new int[sortedTransactions.size()];
+		long firstDay = month.atDay(1).toEpochDay();
+
+		for (int i = 0; i < sortedTransactions.size(); i++) {
+			Transaction transaction = sortedTransactions.get(i);
+			int categoryCode = categoryCodes.computeIfAbsent(transaction.getCategory(), k -> categoryCodes.size());
+			if (categoryCode == rowsByCategory.size()) {
+				rowsByCategory.add(new RoaringBitmap());
+			}
+			rowsByCategory.get(categoryCode).add(i);
+			rowOffsets[i] = out.size();
+			writeVarLong(out, transaction.getDate().toEpochDay() - firstDay);
+			writeVarLong(out, zigZag(Math.round(transaction.getAmount() * 100)));
+			writeVarLong(out, categoryCode);
+
+			UUID uuid = parseUuid(transaction.getId());
+			if (uuid == null) {
+				if (irregularIds == null) {
+					irregularIds = new String[sortedTransactions.size()];
+				}
+				irregularIds[i] = transaction.getId();
+				uuid = new UUID(0L, 0L);
+			}
+			writeLong(out, uuid.getMostSignificantBits());
+			writeLong(out, uuid.getLeastSignificantBits());
+		}
+		// with a single category a filter keeps all rows or none, so no row index is needed
+		boolean indexed = categoryCodes.size() > 1;
+		return new SealedTransactionBlock(customerId, month, sortedTransactions.size(), out.toByteArray(),
+				irregularIds, categoryCodes.keySet().toArray(new String[0]),
+				indexed ? rowsByCategory.toArray(new RoaringBitmap[0]) : null, indexed ? rowOffsets : null);
+	}
+
+	/*
+	 * Below method decodes only the rows dated between startDate and endDate (inclusive)
+	 */
+	void forEachInRange(LocalDate startDate, LocalDate endDate, Consumer<Transaction> action) {
+		forEachInRange(startDate, endDate, null, action);
+	}
+
+	/*
+	 * Below method decodes only the rows dated between startDate and endDate (inclusive)
+	 * whose category is one of the given ones; an empty or null set means every category
+	 */
+	void forEachInRange(LocalDate startDate, LocalDate endDate, Set<String> wantedCategories,
+			Consumer<Transaction> action) {
+		long startDay = startDate.toEpochDay();
+		long endDay = endDate.toEpochDay();
+		long firstDay = month.atDay(1).toEpochDay();
+
+		if (wantedCategories != null && !wantedCategories.isEmpty()) {
+			if (rowsByCategory == null) {
+				if (!wantedCategories.contains(categories[0])) {
+					return;
+				}
+			} else {
+				RoaringBitmap rows = new RoaringBitmap();
+				for (int code = 0; code < categories.length; code++) {
+					if (wantedCategories.contains(categories[code])) {
+						rows.or(rowsByCategory[code]);
+					}
+				}
+				IntIterator ordinals = rows.getIntIterator();
+				while (ordinals.hasNext()) {
+					int i = ordinals.next();
+					int[] position = { rowOffsets[i] };
+					long day = firstDay + readVarLong(position);
+					if (day > endDay) {
+						return;
+					}
+					if (day >= startDay) {
+						action.accept(readRow(i, day, position));
+					}
+				}
+				return;
+			}
+		}
+
+		int[] position = { 0 };
+		for (int i = 0; i < size; i++) {
+			long day = firstDay + readVarLong(position);
+			if (day > endDay) {
+				return;
+			}
+			if (day < startDay) {
+				skipRow(position);
+				continue;
+			}
+			action.accept(readRow(i, day, position));
+		}
+	}
+
+	/*
+	 * Below method returns a cursor that decodes one row per call to next(), so the block
+	 * can be merged with other date-sorted sources without materializing it
+	 */
+	Iterator<Transaction> iterator(LocalDate startDate, LocalDate endDate) {
+		return new RangeCursor(startDate.toEpochDay(), endDate.toEpochDay());
+	}
+
+	void forEach(Consumer<Transaction> action) {
+		forEachInRange(month.atDay(1), month.atEndOfMonth(), action);
+	}
+
+	YearMonth getMonth() {
+		return month;
+	}
+
+	int size() {
+		return size;
+	}
+
+	int encodedBytes() {
+		return data.length;
+	}
+
+	private final class RangeCursor implements Iterator<Transaction> {
+
+		private final long startDay;
+		private final long endDay;
+		private final int[] position = { 0 };
+		private final long firstDay = month.atDay(1).toEpochDay();
+		private int row;
+		private Transaction next;
+
+		private RangeCursor(long startDay, long endDay) {
+			this.startDay = startDay;
+			this.endDay = endDay;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (next == null) {
+				next = decodeNext();
+			}
+			return next != null;
+		}
+
+		@Override
+		public Transaction next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Transaction transaction = next;
+			next = null;
+			return transaction;
+		}
+
+		private Transaction decodeNext() {
+			while (row < size) {
+				int i = row++;
+				long day = firstDay + readVarLong(position);
+				if (day > endDay) {
+					row = size;
+					return null;
+				}
+				if (day < startDay) {
+					skipRow(position);
+					continue;
+				}
+				return readRow(i, day, position);
+			}
+			return null;
+		}
+	}
+
+	/*
+	 * Below method decodes the rest of row i, whose day has already been read
+	 */
+	private Transaction readRow(int i, long day, int[] position) {
+		long cents = unZigZag(readVarLong(position));
+		int categoryCode = (int) readVarLong(position);
+		long mostSignificant = readLong(position);
+		long leastSignificant = readLong(position);
+		String id = irregularIds != null && irregularIds[i] != null ? irregularIds[i]
+				: new UUID(mostSignificant, leastSignificant).toString();
+		return new Transaction(id, customerId, cents / 100.0, LocalDate.ofEpochDay(day), categories[categoryCode]);
+	}
+
+	/*
+	 * Below method moves past the rest of a row, whose day has already been read
+	 */
+	private void skipRow(int[] position) {
+		readVarLong(position);
+		readVarLong(position);
+		position[0] += 16;
+	}
+
+	private static UUID parseUuid(String id) {
+		if (id == null || id.length() != 36) {
+			return null;
+		}
+		try {
+			UUID uuid = UUID.fromString(id);
+			return uuid.toString().equals(id) ? uuid : null;
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	private static long zigZag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	private static long unZigZag(long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	private static void writeVarLong(ByteArrayOutputStream out, long value) {
+		while ((value & ~0x7FL) != 0) {
+			out.write((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.write((int) value);
+	}
+
+	private static void writeLong(ByteArrayOutputStream out, long value) {
+		for (int shift = 56; shift >= 0; shift -= 8) {
+			out.write((int) (value >>> shift));
+		}
+	}
+
+	private long readVarLong(int[] position) {
+		long value = 0;
+		int shift = 0;
+		byte b;
+		do {
+			b = data[position[0]++];
+			value |= (long) (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return value;
+	}
+
+	private long readLong(int[] position) {
+		long value = 0;
+		for (int i = 0; i < 8; i++) {
+			value = (value << 8) | (data[position[0]++] & 0xFF);
+		}
+		return value;
+	}
+
+}
@@ -0,0 +1,164 @@
+package com.offer.repository;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import com.offer.model.Transaction;
+
+/**
+ * Lazy, date-ordered cursor over one customer's transactions in a date range.
+ *
+ * The range is walked month by month. Within a month the sealed block is decoded row by
+ * row and merged with the customer's date-sorted hot transactions for that month, so
+ * nothing is copied or sorted and only the current row is materialized. Unstarted months
+ * can be split off for parallel processing.
+ *
+ * Works on a snapshot taken by the repository: the block array is private to this cursor
+ * and the first hotSize hot rows are never modified once published (see HotTransactions).
+ */
+final class TransactionRangeSpliterator implements Spliterator<Transaction> {
+
+	private final YearMonth firstMonth;
+	private final SealedTransactionBlock[] blocks;
+	private final Transaction[] hot;
+	private final int hotSize;
+	private final LocalDate startDate;
+	private final LocalDate endDate;
+	private int nextMonth;
+	private final int fence;
+	private long estimatedSize;
+
+	private boolean monthOpen;
+	private Iterator<Transaction> sealedRows;
+	private Transaction pendingSealed;
+	private int hotIndex;
+	private int hotEnd;
+
+	/*
+	 * Below constructor takes the blocks indexed by month offset from startDate's month
+	 * (null where a month has no block) and the customer's hot transactions, sorted by date
+	 * in the first hotSize slots
+	 */
+	TransactionRangeSpliterator(SealedTransactionBlock[] blocks, Transaction[] hot, int hotSize, LocalDate startDate,
+			LocalDate endDate) {
+		this(YearMonth.from(startDate), blocks, hot, hotSize, startDate, endDate, 0, blocks.length,
+				estimate(blocks, hot, hotSize, startDate, endDate));
+	}
+
+	private TransactionRangeSpliterator(YearMonth firstMonth, SealedTransactionBlock[] blocks, Transaction[] hot,
+			int hotSize, LocalDate startDate, LocalDate endDate, int nextMonth, int fence, long estimatedSize) {
+		this.firstMonth = firstMonth;
+		this.blocks = blocks;
+		this.hot = hot;
+		this.hotSize = hotSize;
+		this.startDate = startDate;
+		this.endDate = endDate;
+		this.nextMonth = nextMonth;
+		this.fence = fence;
+		this.estimatedSize = estimatedSize;
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super Transaction> action) {
+		while (true) {
+			if (!monthOpen) {
+				if (nextMonth >= fence) {
+					return false;
+				}
+				openMonth(nextMonth++);
+			}
+			Transaction next = nextInMonth();
+			if (next != null) {
+				action.accept(next);
+				return true;
+			}
+			monthOpen = false;
+		}
+	}
+
+	/*
+	 * Below method hands the first half of the months not yet started to a new cursor
+	 */
+	@Override
+	public Spliterator<Transaction> trySplit() {
+		if (monthOpen || fence - nextMonth < 2) {
+			return null;
+		}
+		int middle = (nextMonth + fence) >>> 1;
+		long prefixSize = estimatedSize / 2;
+		TransactionRangeSpliterator prefix = new TransactionRangeSpliterator(firstMonth, blocks, hot, hotSize,
+				startDate, endDate, nextMonth, middle, prefixSize);
+		nextMonth = middle;
+		estimatedSize -= prefixSize;
+		return prefix;
+	}
+
+	@Override
+	public long estimateSize() {
+		return estimatedSize;
+	}
+
+	@Override
+	public int characteristics() {
+		return ORDERED | NONNULL | IMMUTABLE;
+	}
+
+	private void openMonth(int offset) {
+		YearMonth month = firstMonth.plusMonths(offset);
+		LocalDate from = offset == 0 ? startDate : month.atDay(1);
+		LocalDate to = month.atEndOfMonth().isAfter(endDate) ? endDate : month.atEndOfMonth();
+		sealedRows = blocks[offset] != null ? blocks[offset].iterator(from, to) : Collections.emptyIterator();
+		pendingSealed = null;
+		hotIndex = firstOnOrAfter(hot, hotSize, from.toEpochDay());
+		hotEnd = firstOnOrAfter(hot, hotSize, to.toEpochDay() + 1);
+		monthOpen = true;
+	}
+
+	/*
+	 * Below method merges the two date-sorted sources of the open month; on equal dates the
+	 * sealed row comes first, matching the order of a stable sort over sealed-then-hot rows
+	 */
+	private Transaction nextInMonth() {
+		if (pendingSealed == null && sealedRows.hasNext()) {
+			pendingSealed = sealedRows.next();
+		}
+		boolean hasHot = hotIndex < hotEnd;
+		if (pendingSealed != null && (!hasHot || !pendingSealed.getDate().isAfter(hot[hotIndex].getDate()))) {
+			Transaction sealed = pendingSealed;
+			pendingSealed = null;
+			return sealed;
+		}
+		return hasHot ? hot[hotIndex++] : null;
+	}
+
+	static int firstOnOrAfter(Transaction[] sortedByDate, int size, long epochDay) {
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (sortedByDate[middle].getDate().toEpochDay() < epochDay) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	private static long estimate(SealedTransactionBlock[] blocks, Transaction[] hot, int hotSize,
+			LocalDate startDate, LocalDate endDate) {
+		long size = firstOnOrAfter(hot, hotSize, endDate.toEpochDay() + 1)
+				- firstOnOrAfter(hot, hotSize, startDate.toEpochDay());
+		for (SealedTransactionBlock block : blocks) {
+			if (block != null) {
+				size += block.size();
+			}
+		}
+		return size;
+	}
+
+}
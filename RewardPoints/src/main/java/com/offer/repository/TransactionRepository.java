@@ -1,49 +1,103 @@
-package com.offer.repository;
-
-import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
-import java.util.stream.Collectors;
-
-import org.springframework.stereotype.Repository;
-
-import com.offer.model.Customer;
-import com.offer.model.Transaction;
-
-import jakarta.annotation.PostConstruct;
-
-@Repository
-public class TransactionRepository {
-
-	private final Map<String, Customer> customers = new HashMap<>();
-	private List<Transaction> transactions = new ArrayList<>();
-
-	@PostConstruct
-	public void init() {
-
-		customers.put("1", new Customer("1", "Neelima Sivaiahgari", "neelima@gmail.com"));
-		customers.put("2", new Customer("2", "Sekhar", "sekhar@gmail.com"));
-
-		transactions.add(new Transaction("1", 120.0, LocalDate.of(2025, 1, 10)));
-		transactions.add(new Transaction("1", 75.0, LocalDate.of(2025, 2, 5)));
-		transactions.add(new Transaction("1", 200.0, LocalDate.of(2025, 3, 12)));
-
-		transactions.add(new Transaction("2", 60.0, LocalDate.of(2025, 2, 3)));
-		transactions.add(new Transaction("2", 130.0, LocalDate.of(2025, 3, 18)));
-
-	}
-
-	public Optional<Customer> getCustomerById(String customerId) {
-		return Optional.ofNullable(customers.get(customerId));
-	}
-
-	public List<Transaction> getTransactionsForCustomerId(String customerId, LocalDate startDate, LocalDate endDate) {
-		return transactions.stream().filter(t -> t.getCustomerId().equals(customerId))
-				.filter(t -> !t.getDate().isBefore(startDate) && !t.getDate().isAfter(endDate))
-				.sorted(Comparator.comparing(Transaction::getDate)).collect(Collectors.toList());
-	}
-}
+package com.offer.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import com.offer.model.Customer;
+import com.offer.model.Transaction;
+import com.offer.service.PointsCalculator;
+
+/*
+ * Customer and transaction store. The implementation is selected with reward.repository.type:
+ * "memory" (default, see InMemoryTransactionRepository) or "jdbc" (see JdbcTransactionRepository).
+ */
+public interface TransactionRepository {
+
+	Optional<Customer> getCustomerById(String customerId);
+
+	/*
+	 * Below method returns all customer ids in a stable (sorted) order
+	 */
+	List<String> getCustomerIds();
+
+	List<Transaction> getTransactionsForCustomerId(String customerId, LocalDate startDate, LocalDate endDate);
+
+	/*
+	 * Below method returns the customer's transactions in the date range, in date order.
+	 * Callers should close the stream.
+	 */
+	Stream<Transaction> streamTransactionsForCustomerId(String customerId, LocalDate startDate, LocalDate endDate);
+
+	/*
+	 * Below method returns the customer's transactions in the date range whose category is
+	 * one of the given ones (all categories when the set is empty), sorted by date
+	 */
+	List<Transaction> getTransactionsForCustomerId(String customerId, LocalDate startDate, LocalDate endDate,
+			Set<String> categories);
+
+	/*
+	 * Below method visits every stored transaction in no particular order
+	 */
+	void forEachTransaction(Consumer<Transaction> action);
+
+	/*
+	 * Below method stores the transaction; amounts finer than a cent are refused by every store
+	 * (see requireWholeCents) so all backends hold the same data
+	 */
+	void addTransaction(Transaction transaction);
+
+	/*
+	 * Below method returns the customer's transaction that was ingested with the idempotency key
+	 */
+	Optional<Transaction> findByIdempotencyKey(String customerId, String idempotencyKey);
+
+	/*
+	 * Below method visits the customer id and idempotency key of every transaction that has a key
+	 */
+	void forEachIdempotencyKey(BiConsumer<String, String> action);
+
+	/*
+	 * Below method stores several transactions; stores that support it write them in batches
+	 */
+	default void addTransactions(List<Transaction> transactions) {
+		transactions.forEach(this::addTransaction);
+	}
+
+	/*
+	 * Below method refuses amounts with fractions of a cent; the in-memory store seals months
+	 * in whole cents, so accepting them anywhere would let the backends disagree on points
+	 */
+	static void requireWholeCents(Transaction transaction) {
+		if (BigDecimal.valueOf(transaction.getAmount()).scale() > 2) {
+			throw new IllegalArgumentException("Transaction amount has fractions of a cent : " + transaction.getAmount());
+		}
+	}
+
+	/*
+	 * Below method returns the base points (no campaign bonuses) and transaction count of every
+	 * month in the date range that has transactions, in month order. The default walks the
+	 * range stream; stores that can aggregate closer to the data override it.
+	 */
+	default List<MonthlyPoints> getMonthlyPoints(String customerId, LocalDate startDate, LocalDate endDate) {
+		TreeMap<YearMonth, long[]> months = new TreeMap<>();
+		try (Stream<Transaction> transactions = streamTransactionsForCustomerId(customerId, startDate, endDate)) {
+			transactions.forEach(transaction -> {
+				long[] month = months.computeIfAbsent(YearMonth.from(transaction.getDate()), k -> new long[2]);
+				month[0] += PointsCalculator.calculatePoints(transaction.getAmount());
+				month[1]++;
+			});
+		}
+		List<MonthlyPoints> result = new ArrayList<>(months.size());
+		months.forEach((month, totals) -> result.add(new MonthlyPoints(month, totals[0], (int) totals[1])));
+		return result;
+	}
+}
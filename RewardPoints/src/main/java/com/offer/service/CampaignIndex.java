@@ -0,0 +1,226 @@
+package com.offer.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.offer.dto.CampaignBonus;
+import com.offer.model.Campaign;
+
+/*
+ * Immutable interval index over campaign date windows.
+ *
+ * Campaigns for everyone go into one centered interval tree, campaigns for a customer segment
+ * into one tree per targeted customer, so a lookup only ever sees campaigns that apply to the
+ * customer. Each tree node keeps the windows that contain its center day twice, sorted by
+ * start and by end; a lookup descends one path of the tree and at every node walks only the
+ * windows that contain the date, so it costs O(log n + matches) and the index holds each
+ * (campaign, customer) pair once.
+ */
+final class CampaignIndex {
+
+	static final CampaignIndex EMPTY = new CampaignIndex(null, Collections.emptyMap());
+
+	/* Bonuses are reported by campaign start day, then in the order the campaigns were given */
+	private static final Comparator<Entry> REPORT_ORDER = Comparator.comparingInt(Entry::ordinal);
+
+	private final Node global;
+	private final Map<String, Node> byCustomer;
+
+	private CampaignIndex(Node global, Map<String, Node> byCustomer) {
+		this.global = global;
+		this.byCustomer = byCustomer;
+	}
+
+	static CampaignIndex build(Collection<Campaign> campaigns) {
+		if (campaigns.isEmpty()) {
+			return EMPTY;
+		}
+		List<Campaign> ordered = new ArrayList<>(campaigns);
+		ordered.sort(Comparator.comparing(Campaign::getStartDate));
+
+		List<Entry> global = new ArrayList<>();
+		Map<String, List<Entry>> byCustomer = new HashMap<>();
+		for (int i = 0; i < ordered.size(); i++) {
+			Campaign campaign = ordered.get(i);
+			Entry entry = new Entry(campaign.getStartDate().toEpochDay(), campaign.getEndDate().toEpochDay(), i,
+					campaign);
+			if (campaign.getCustomerIds() == null || campaign.getCustomerIds().isEmpty()) {
+				global.add(entry);
+			} else {
+				for (String customerId : campaign.getCustomerIds()) {
+					byCustomer.computeIfAbsent(customerId, k -> new ArrayList<>()).add(entry);
+				}
+			}
+		}
+		Map<String, Node> customerTrees = new HashMap<>();
+		byCustomer.forEach((customerId, entries) -> customerTrees.put(customerId, Node.build(entries)));
+		return new CampaignIndex(Node.build(global), customerTrees);
+	}
+
+	/*
+	 * Below method returns the bonus of every campaign that applies to the transaction. Each
+	 * campaign adds basePoints * (multiplier - 1), so overlapping campaigns stack additively.
+	 * The shared empty list is returned when nothing applies, which is the common case.
+	 */
+	List<CampaignBonus> bonusesFor(String customerId, LocalDate date, long basePoints) {
+		long day = date.toEpochDay();
+		List<Entry> active = Node.collect(global, day, null);
+		active = Node.collect(byCustomer.get(customerId), day, active);
+		if (active == null) {
+			return Collections.emptyList();
+		}
+		if (active.size() > 1) {
+			active.sort(REPORT_ORDER);
+		}
+		List<CampaignBonus> bonuses = new ArrayList<>(active.size());
+		for (Entry entry : active) {
+			Campaign campaign = entry.campaign();
+			bonuses.add(new CampaignBonus(campaign.getId(), campaign.getName(), campaign.getMultiplier(),
+					(long) (basePoints * (campaign.getMultiplier() - 1))));
+		}
+		return bonuses;
+	}
+
+	/*
+	 * Below method returns only the total bonus, for callers that do not report the breakdown
+	 */
+	long bonusPoints(String customerId, LocalDate date, long basePoints) {
+		long day = date.toEpochDay();
+		return Node.bonusPoints(global, day, basePoints) + Node.bonusPoints(byCustomer.get(customerId), day, basePoints);
+	}
+
+	/*
+	 * Below method tells whether any campaign for the customer is active on some day of the range
+	 */
+	boolean appliesBetween(String customerId, LocalDate startDate, LocalDate endDate) {
+		long from = startDate.toEpochDay();
+		long to = endDate.toEpochDay();
+		return Node.overlaps(global, from, to) || Node.overlaps(byCustomer.get(customerId), from, to);
+	}
+
+	private record Entry(long start, long end, int ordinal, Campaign campaign) {
+	}
+
+	/*
+	 * Below class is one node of a centered interval tree: the windows containing the center
+	 * day, plus subtrees of the windows entirely before and entirely after it
+	 */
+	private static final class Node {
+
+		private final long center;
+		private final Entry[] byStart;
+		private final Entry[] byEnd;
+		private final Node before;
+		private final Node after;
+
+		private Node(long center, Entry[] byStart, Entry[] byEnd, Node before, Node after) {
+			this.center = center;
+			this.byStart = byStart;
+			this.byEnd = byEnd;
+			this.before = before;
+			this.after = after;
+		}
+
+		/*
+		 * Below method centers the node on the median start day, so the window it came from
+		 * stays in the node and each subtree gets at most half of the windows
+		 */
+		private static Node build(List<Entry> entries) {
+			if (entries.isEmpty()) {
+				return null;
+			}
+			List<Entry> sorted = new ArrayList<>(entries);
+			sorted.sort(Comparator.comparingLong(Entry::start));
+			long center = sorted.get(sorted.size() / 2).start();
+			List<Entry> before = new ArrayList<>();
+			List<Entry> after = new ArrayList<>();
+			List<Entry> here = new ArrayList<>();
+			for (Entry entry : sorted) {
+				if (entry.end() < center) {
+					before.add(entry);
+				} else if (entry.start() > center) {
+					after.add(entry);
+				} else {
+					here.add(entry);
+				}
+			}
+			Entry[] byStart = here.toArray(new Entry[0]);
+			Entry[] byEnd = byStart.clone();
+			Arrays.sort(byEnd, Comparator.comparingLong(Entry::end).reversed());
+			return new Node(center, byStart, byEnd, build(before), build(after));
+		}
+
+		/*
+		 * Below method adds the windows containing the day to the list, creating it on the
+		 * first match; it returns the list unchanged (possibly null) when nothing matches
+		 */
+		private static List<Entry> collect(Node node, long day, List<Entry> out) {
+			while (node != null) {
+				Entry[] candidates = day < node.center ? node.byStart : node.byEnd;
+				for (Entry entry : candidates) {
+					if (entry.start() > day || entry.end() < day) {
+						break;
+					}
+					if (out == null) {
+						out = new ArrayList<>(2);
+					}
+					out.add(entry);
+				}
+				if (day == node.center) {
+					return out;
+				}
+				node = day < node.center ? node.before : node.after;
+			}
+			return out;
+		}
+
+		private static long bonusPoints(Node node, long day, long basePoints) {
+			long bonus = 0;
+			while (node != null) {
+				Entry[] candidates = day < node.center ? node.byStart : node.byEnd;
+				for (Entry entry : candidates) {
+					if (entry.start() > day || entry.end() < day) {
+						break;
+					}
+					bonus += (long) (basePoints * (entry.campaign().getMultiplier() - 1));
+				}
+				if (day == node.center) {
+					return bonus;
+				}
+				node = day < node.center ? node.before : node.after;
+			}
+			return bonus;
+		}
+
+		/*
+		 * Below method tells whether a window overlaps [from, to]; every window of a node
+		 * contains its center, so the earliest start or the latest end decides for the node
+		 */
+		private static boolean overlaps(Node node, long from, long to) {
+			while (node != null) {
+				if (to < node.center) {
+					if (node.byStart[0].start() <= to) {
+						return true;
+					}
+					node = node.before;
+				} else if (from > node.center) {
+					if (node.byEnd[0].end() >= from) {
+						return true;
+					}
+					node = node.after;
+				} else {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+}
@@ -0,0 +1,86 @@
+package com.offer.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.offer.dto.CampaignRequest;
+import com.offer.exception.DataValidationException;
+import com.offer.model.Campaign;
+import com.offer.model.Transaction;
+
+/*
+ * Holds the promotional campaigns. Campaigns change rarely and are read on every reward
+ * query, so each change rebuilds an immutable CampaignIndex which readers use without locking.
+ */
+@Service
+public class CampaignService {
+
+	private static final Logger log = LoggerFactory.getLogger(CampaignService.class);
+
+	private final Map<String, Campaign> campaigns = new LinkedHashMap<>();
+	private volatile CampaignIndex index = CampaignIndex.EMPTY;
+
+	public synchronized Campaign addCampaign(CampaignRequest request) {
+		if (request.getEndDate().isBefore(request.getStartDate())) {
+			throw new DataValidationException("Campaign end date cannot be before start date");
+		}
+		if (request.getMultiplier() < 1) {
+			throw new DataValidationException("Campaign multiplier must be at least 1");
+		}
+		Campaign campaign = new Campaign(UUID.randomUUID().toString(), request.getName(), request.getStartDate(),
+				request.getEndDate(), request.getMultiplier(),
+				request.getCustomerIds() != null ? Set.copyOf(request.getCustomerIds()) : Set.of());
+		campaigns.put(campaign.getId(), campaign);
+		rebuildIndex();
+
+		log.info("Campaign added | {}", campaign);
+		return campaign;
+	}
+
+	public synchronized boolean removeCampaign(String campaignId) {
+		if (campaigns.remove(campaignId) == null) {
+			return false;
+		}
+		rebuildIndex();
+		log.info("Campaign removed | id={}", campaignId);
+		return true;
+	}
+
+	public synchronized List<Campaign> getCampaigns() {
+		List<Campaign> result = new ArrayList<>(campaigns.values());
+		result.sort(Comparator.comparing(Campaign::getStartDate));
+		return result;
+	}
+
+	/*
+	 * Below method returns the points a transaction earns: its base points plus the bonus of
+	 * every campaign that applies to it. Views rebuilt from the stored history use it so they
+	 * agree with the points ingest credited.
+	 */
+	public long earnedPoints(Transaction transaction) {
+		long points = PointsCalculator.calculatePoints(transaction.getAmount());
+		return points + index.bonusPoints(transaction.getCustomerId(), transaction.getDate(), points);
+	}
+
+	/*
+	 * Below method returns the current index; callers should read it once per request so a
+	 * whole summary is computed against the same set of campaigns
+	 */
+	CampaignIndex getIndex() {
+		return index;
+	}
+
+	private void rebuildIndex() {
+		index = CampaignIndex.build(campaigns.values());
+	}
+
+}
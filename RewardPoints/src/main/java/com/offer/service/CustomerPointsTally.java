@@ -0,0 +1,76 @@
+package com.offer.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Component;
+
+import com.offer.model.Transaction;
+import com.offer.repository.TransactionRepository;
+
+/*
+ * Running per-customer points totals (per month and overall), campaign bonuses included,
+ * kept up to date on ingest so live updates never have to rescan a customer's history. A
+ * customer's totals are loaded from the repository the first time one of their transactions
+ * is recorded.
+ */
+@Component
+public class CustomerPointsTally {
+
+	private final TransactionRepository transactionRepository;
+	private final CampaignService campaignService;
+	private final Map<String, CustomerPoints> tallies = new ConcurrentHashMap<>();
+
+	public CustomerPointsTally(TransactionRepository transactionRepository, CampaignService campaignService) {
+		this.transactionRepository = transactionRepository;
+		this.campaignService = campaignService;
+	}
+
+	/*
+	 * Below method stores the transaction and moves the customer's totals as one step under the
+	 * customer's lock: the totals only change once the store succeeded, and the event is handed
+	 * to the publisher before the lock is released, so listeners see each customer's events in
+	 * the order the totals moved. The totals are loaded before the store, so a first-time load
+	 * never counts the new transaction twice.
+	 */
+	public PointsEarnedEvent record(Transaction transaction, long points, Consumer<Transaction> store,
+			Consumer<PointsEarnedEvent> publisher) {
+		CustomerPoints customerPoints = tallies.computeIfAbsent(transaction.getCustomerId(), this::load);
+		YearMonth month = YearMonth.from(transaction.getDate());
+		synchronized (customerPoints) {
+			store.accept(transaction);
+			long previousMonthPoints = customerPoints.pointsPerMonth.getOrDefault(month, 0L);
+			long monthPoints = previousMonthPoints + points;
+			customerPoints.pointsPerMonth.put(month, monthPoints);
+			customerPoints.totalPoints += points;
+			PointsEarnedEvent event = new PointsEarnedEvent(transaction, points, month, previousMonthPoints,
+					monthPoints, customerPoints.totalPoints);
+			publisher.accept(event);
+			return event;
+		}
+	}
+
+	private CustomerPoints load(String customerId) {
+		CustomerPoints customerPoints = new CustomerPoints();
+		try (Stream<Transaction> history = transactionRepository.streamTransactionsForCustomerId(customerId,
+				LocalDate.MIN, LocalDate.MAX)) {
+			history.forEach(transaction -> {
+				long points = campaignService.earnedPoints(transaction);
+				customerPoints.pointsPerMonth.merge(YearMonth.from(transaction.getDate()), points, Long::sum);
+				customerPoints.totalPoints += points;
+			});
+		}
+		return customerPoints;
+	}
+
+	private static final class CustomerPoints {
+		private final Map<YearMonth, Long> pointsPerMonth = new HashMap<>();
+		private long totalPoints;
+	}
+
+}
@@ -0,0 +1,107 @@
+package com.offer.service;
+
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.offer.model.Transaction;
+import com.offer.repository.TransactionRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+/*
+ * Below class detects retried ingests by their idempotency key. Every stored key is added to
+ * a scalable Bloom filter; a new key is only looked up in the repository when the filter
+ * reports a possible match, so the common first-time ingest costs no index lookup. Ingests
+ * of the same key are serialized on one of a fixed set of lock stripes, so two concurrent
+ * retries cannot both pass the check.
+ */
+@Component
+public class IdempotencyGuard {
+
+	private static final Logger log = LoggerFactory.getLogger(IdempotencyGuard.class);
+
+	private final TransactionRepository transactionRepository;
+	private final ScalableBloomFilter seenKeys;
+	private final Object[] stripes;
+	private final Counter newKeys;
+	private final Counter duplicates;
+	private final Counter falsePositives;
+
+	public IdempotencyGuard(TransactionRepository transactionRepository,
+			@Value("${reward.ingest.dedup.initial-capacity:100000}") int initialCapacity,
+			@Value("${reward.ingest.dedup.false-positive-rate:0.001}") double falsePositiveRate,
+			@Value("${reward.ingest.dedup.lock-stripes:64}") int lockStripes, MeterRegistry meterRegistry) {
+		if (lockStripes < 1 || Integer.bitCount(lockStripes) != 1) {
+			throw new IllegalArgumentException("reward.ingest.dedup.lock-stripes must be a power of two");
+		}
+		this.transactionRepository = transactionRepository;
+		this.seenKeys = new ScalableBloomFilter(initialCapacity, falsePositiveRate);
+		this.stripes = new Object[lockStripes];
+		for (int i = 0; i < lockStripes; i++) {
+			stripes[i] = new Object();
+		}
+		this.newKeys = dedupCounter(meterRegistry, "new", "Keys the Bloom filter ruled out without a lookup");
+		this.duplicates = dedupCounter(meterRegistry, "duplicate", "Retried ingests that were rejected");
+		this.falsePositives = dedupCounter(meterRegistry, "false_positive",
+				"Bloom filter matches that the exact lookup did not confirm");
+		Gauge.builder("rewards.ingest.dedup.filter.layers", seenKeys, ScalableBloomFilter::layerCount)
+				.description("Layers in the idempotency key Bloom filter").register(meterRegistry);
+		Gauge.builder("rewards.ingest.dedup.filter.bits", seenKeys, ScalableBloomFilter::bitCount)
+				.description("Bits allocated by the idempotency key Bloom filter").register(meterRegistry);
+	}
+
+	/*
+	 * Below method loads the keys of the stored transactions at startup
+	 */
+	@PostConstruct
+	public void load() {
+		int[] keys = new int[1];
+		transactionRepository.forEachIdempotencyKey((customerId, idempotencyKey) -> {
+			seenKeys.add(filterKey(customerId, idempotencyKey));
+			keys[0]++;
+		});
+		log.info("Idempotency keys loaded | keys={} | filterLayers={}", keys[0], seenKeys.layerCount());
+	}
+
+	/*
+	 * Below method returns the lock that ingests of this key must hold while checking and storing
+	 */
+	public Object lockFor(String customerId, String idempotencyKey) {
+		return stripes[(int) (ScalableBloomFilter.hash(filterKey(customerId, idempotencyKey)) >>> 32)
+				& (stripes.length - 1)];
+	}
+
+	/*
+	 * Below method returns the transaction already stored under the key, if any
+	 */
+	public Optional<Transaction> findDuplicate(String customerId, String idempotencyKey) {
+		if (!seenKeys.mightContain(filterKey(customerId, idempotencyKey))) {
+			newKeys.increment();
+			return Optional.empty();
+		}
+		Optional<Transaction> original = transactionRepository.findByIdempotencyKey(customerId, idempotencyKey);
+		(original.isPresent() ? duplicates : falsePositives).increment();
+		return original;
+	}
+
+	public void remember(String customerId, String idempotencyKey) {
+		seenKeys.add(filterKey(customerId, idempotencyKey));
+	}
+
+	private static String filterKey(String customerId, String idempotencyKey) {
+		return customerId + '\u0000' + idempotencyKey;
+	}
+
+	private static Counter dedupCounter(MeterRegistry meterRegistry, String outcome, String description) {
+		return Counter.builder("rewards.ingest.dedup").tag("outcome", outcome).description(description)
+				.register(meterRegistry);
+	}
+}
@@ -0,0 +1,26 @@
+package com.offer.service;
+
+/*
+ * Below class holds the reward tier rules shared by every place that turns an amount into points:
+ * 2 points per dollar over 100 and 1 point per dollar between 50 and 100
+ */
+public final class PointsCalculator {
+
+	private PointsCalculator() {
+	}
+
+	public static long calculatePoints(double amount) {
+		double points = 0;
+		if (amount > 100) {
+			points += (amount - 100) * 2;
+			amount = 100;
+		}
+		if (amount > 50) {
+			points += (amount - 50) * 1;
+		}
+		
+		long finalPoints = (long) points;
+		return finalPoints;
+	}
+
+}
@@ -0,0 +1,13 @@
+package com.offer.service;
+
+import java.time.YearMonth;
+
+import com.offer.model.Transaction;
+
+/*
+ * Below event is published once an ingested transaction has been stored, carrying the
+ * points it earned and the customer's running totals before and after it
+ */
+public record PointsEarnedEvent(Transaction transaction, long pointsEarned, YearMonth month,
+		long previousMonthPoints, long monthPoints, long totalPoints) {
+}
@@ -0,0 +1,147 @@
+package com.offer.service;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.offer.model.Transaction;
+import com.offer.repository.TransactionRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/*
+ * Durable points balance per customer, where every transaction earns a lot of points that
+ * expires a fixed number of months after it was earned.
+ *
+ * Balances are kept as running sums, so a lookup is a single map read. Lots are queued in
+ * buckets keyed by their expiry date; the sweep pops only the buckets that are due and never
+ * looks at customers or lots that are not expiring.
+ */
+@Component
+public class PointsLedger {
+
+	private static final Logger log = LoggerFactory.getLogger(PointsLedger.class);
+
+	private final TransactionRepository transactionRepository;
+	private final CampaignService campaignService;
+	private final int expiryMonths;
+
+	private final Map<String, AtomicLong> balances = new ConcurrentHashMap<>();
+	private final NavigableMap<LocalDate, ArrayDeque<PointsLot>> lotsByExpiry = new TreeMap<>();
+	private final Object expiryLock = new Object();
+	private long pendingLots;
+
+	private final Counter expiredPoints;
+
+	public PointsLedger(TransactionRepository transactionRepository, CampaignService campaignService,
+			@Value("${reward.ledger.expiry-months:12}") int expiryMonths, MeterRegistry meterRegistry) {
+		if (expiryMonths < 1) {
+			throw new IllegalArgumentException("reward.ledger.expiry-months must be at least 1");
+		}
+		this.transactionRepository = transactionRepository;
+		this.campaignService = campaignService;
+		this.expiryMonths = expiryMonths;
+		this.expiredPoints = Counter.builder("rewards.ledger.expired.points")
+				.description("Points removed from balances by expiry").register(meterRegistry);
+		Gauge.builder("rewards.ledger.pending.lots", this, PointsLedger::getPendingLots)
+				.description("Earned point lots that have not expired yet").register(meterRegistry);
+	}
+
+	/*
+	 * Below method rebuilds balances, campaign bonuses included, from the stored transaction
+	 * history at startup
+	 */
+	@PostConstruct
+	public void load() {
+		LocalDate today = LocalDate.now();
+		transactionRepository.forEachTransaction(transaction -> earn(transaction.getCustomerId(),
+				campaignService.earnedPoints(transaction), transaction.getDate(), today));
+		log.info("Points ledger loaded | customers={} | pendingLots={} | expiryMonths={}", balances.size(),
+				getPendingLots(), expiryMonths);
+	}
+
+	@EventListener
+	public void onPointsEarned(PointsEarnedEvent event) {
+		Transaction transaction = event.transaction();
+		earn(transaction.getCustomerId(), event.pointsEarned(), transaction.getDate(), LocalDate.now());
+	}
+
+	/*
+	 * Below method credits a lot of points; lots that would already have expired are ignored
+	 */
+	public void earn(String customerId, long points, LocalDate earnedDate, LocalDate today) {
+		if (points <= 0) {
+			return;
+		}
+		LocalDate expiryDate = earnedDate.plusMonths(expiryMonths);
+		if (!expiryDate.isAfter(today)) {
+			return;
+		}
+		synchronized (expiryLock) {
+			lotsByExpiry.computeIfAbsent(expiryDate, k -> new ArrayDeque<>())
+					.add(new PointsLot(customerId, points, expiryDate));
+			pendingLots++;
+			balances.computeIfAbsent(customerId, k -> new AtomicLong()).addAndGet(points);
+		}
+	}
+
+	/*
+	 * Below method removes every lot whose expiry date is on or before today and returns
+	 * the number of points that expired
+	 */
+	public long expireDue(LocalDate today) {
+		long expired = 0;
+		int lots = 0;
+		synchronized (expiryLock) {
+			Map.Entry<LocalDate, ArrayDeque<PointsLot>> bucket;
+			while ((bucket = lotsByExpiry.firstEntry()) != null && !bucket.getKey().isAfter(today)) {
+				lotsByExpiry.pollFirstEntry();
+				for (PointsLot lot : bucket.getValue()) {
+					balances.get(lot.customerId()).addAndGet(-lot.points());
+					expired += lot.points();
+					lots++;
+				}
+				pendingLots -= bucket.getValue().size();
+			}
+		}
+		expiredPoints.increment(expired);
+		if (lots > 0) {
+			log.info("Expired points | asOf={} | lots={} | points={}", today, lots, expired);
+		}
+		return expired;
+	}
+
+	@Scheduled(cron = "${reward.ledger.expiry-cron:0 10 0 * * *}")
+	public void expireDueToday() {
+		expireDue(LocalDate.now());
+	}
+
+	public long getBalance(String customerId) {
+		AtomicLong balance = balances.get(customerId);
+		return balance != null ? balance.get() : 0;
+	}
+
+	public long getPendingLots() {
+		synchronized (expiryLock) {
+			return pendingLots;
+		}
+	}
+
+	private record PointsLot(String customerId, long points, LocalDate expiryDate) {
+	}
+
+}
@@ -0,0 +1,153 @@
+package com.offer.service;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.offer.dto.PointsUpdate;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/*
+ * Fan-out of live points updates to server-sent event subscribers.
+ *
+ * Subscribers are indexed by customer, so an ingested transaction only touches the
+ * emitters of its own customer. An idle subscriber is just an SseEmitter parked on an
+ * async request and holds no thread; sends happen on a small set of dedicated sender
+ * threads so a slow client never blocks ingestion. A customer always maps to the same
+ * single-threaded sender, so their updates go out in the order they were published.
+ */
+@Component
+public class PointsUpdateBroadcaster {
+
+	private static final Logger log = LoggerFactory.getLogger(PointsUpdateBroadcaster.class);
+
+	private final Map<String, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+	private final AtomicInteger subscriberCount = new AtomicInteger();
+	private final long timeoutMillis;
+	private final ExecutorService[] senders;
+
+	public PointsUpdateBroadcaster(@Value("${reward.stream.timeout-millis:1800000}") long timeoutMillis,
+			@Value("${reward.stream.sender-threads:2}") int senderThreads, MeterRegistry meterRegistry) {
+		this.timeoutMillis = timeoutMillis;
+		this.senders = new ExecutorService[senderThreads];
+		for (int i = 0; i < senderThreads; i++) {
+			String threadName = "points-stream-" + (i + 1);
+			senders[i] = Executors.newSingleThreadExecutor(runnable -> {
+				Thread thread = new Thread(runnable, threadName);
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		Gauge.builder("rewards.stream.subscribers", subscriberCount, AtomicInteger::get)
+				.description("Open points update streams").register(meterRegistry);
+	}
+
+	/*
+	 * Below method registers a new stream for the customer; it is dropped again when the
+	 * client disconnects, the stream times out or a send fails
+	 */
+	public SseEmitter subscribe(String customerId) {
+		SseEmitter emitter = new SseEmitter(timeoutMillis);
+		subscribers.compute(customerId, (k, emitters) -> {
+			Set<SseEmitter> customerEmitters = emitters != null ? emitters : ConcurrentHashMap.newKeySet();
+			customerEmitters.add(emitter);
+			return customerEmitters;
+		});
+		subscriberCount.incrementAndGet();
+
+		Runnable remove = () -> unsubscribe(customerId, emitter);
+		emitter.onCompletion(remove);
+		emitter.onTimeout(remove);
+		emitter.onError(e -> remove.run());
+		return emitter;
+	}
+
+	@EventListener
+	public void onPointsEarned(PointsEarnedEvent event) {
+		String customerId = event.transaction().getCustomerId();
+		Set<SseEmitter> emitters = subscribers.get(customerId);
+		if (emitters == null || emitters.isEmpty()) {
+			return;
+		}
+
+		PointsUpdate update = new PointsUpdate(customerId, event.transaction().getId(), event.transaction().getDate(),
+				event.pointsEarned(), event.month().toString(), event.monthPoints(), event.totalPoints());
+		execute(customerId, () -> {
+			for (SseEmitter emitter : emitters) {
+				send(customerId, emitter, SseEmitter.event().id(update.getTransactionId()).name("points")
+						.data(update, MediaType.APPLICATION_JSON));
+			}
+		});
+	}
+
+	/*
+	 * Below method keeps idle streams alive through proxies and detects dead clients
+	 */
+	@Scheduled(fixedDelayString = "${reward.stream.heartbeat-millis:30000}")
+	public void sendHeartbeats() {
+		if (subscriberCount.get() == 0) {
+			return;
+		}
+		subscribers.forEach((customerId, emitters) -> execute(customerId, () -> {
+			for (SseEmitter emitter : emitters) {
+				send(customerId, emitter, SseEmitter.event().comment("heartbeat"));
+			}
+		}));
+	}
+
+	public int getSubscriberCount() {
+		return subscriberCount.get();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		for (ExecutorService sender : senders) {
+			sender.shutdownNow();
+		}
+		subscribers.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+	}
+
+	private void send(String customerId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+		try {
+			emitter.send(event);
+		} catch (IOException | IllegalStateException e) {
+			log.debug("Dropping points stream for customerId={} | reason={}", customerId, e.getMessage());
+			unsubscribe(customerId, emitter);
+		}
+	}
+
+	private void unsubscribe(String customerId, SseEmitter emitter) {
+		subscribers.computeIfPresent(customerId, (k, emitters) -> {
+			if (emitters.remove(emitter)) {
+				subscriberCount.decrementAndGet();
+			}
+			return emitters.isEmpty() ? null : emitters;
+		});
+	}
+
+	private void execute(String customerId, Runnable task) {
+		try {
+			senders[Math.floorMod(customerId.hashCode(), senders.length)].execute(task);
+		} catch (RejectedExecutionException e) {
+			log.debug("Points stream sender is shut down, dropping update");
+		}
+	}
+
+}
@@ -0,0 +1,64 @@
+package com.offer.service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+
+/**
+ * Single-flight execution: while a computation for a key is running, further callers
+ * with an equal key wait for it and receive the same result (or exception) instead of
+ * computing it again. Nothing is kept once the computation finishes, so this works the
+ * same with or without a result cache in front of it.
+ */
+public class RequestCoalescer<K, V> {
+
+	private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+	private final Counter coalescedRequests;
+
+	public RequestCoalescer(Counter coalescedRequests) {
+		this.coalescedRequests = coalescedRequests;
+	}
+
+	public V execute(K key, Supplier<V> computation) {
+		CompletableFuture<V> ownFuture = new CompletableFuture<>();
+		CompletableFuture<V> runningFuture = inFlight.putIfAbsent(key, ownFuture);
+		if (runningFuture != null) {
+			coalescedRequests.increment();
+			return await(runningFuture);
+		}
+
+		try {
+			V result = computation.get();
+			ownFuture.complete(result);
+			return result;
+		} catch (RuntimeException | Error e) {
+			ownFuture.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlight.remove(key, ownFuture);
+		}
+	}
+
+	public int getInFlightCount() {
+		return inFlight.size();
+	}
+
+	private V await(CompletableFuture<V> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if (e.getCause() instanceof Error error) {
+				throw error;
+			}
+			throw e;
+		}
+	}
+
+}
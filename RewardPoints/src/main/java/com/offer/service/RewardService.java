@@ -1,6 +1,36 @@
-package com.offer.service;
-
-public interface RewardService extends BaseRewardService {
-	
-    
-}
+package com.offer.service;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import com.offer.dto.Granularity;
+import com.offer.dto.RewardSummary;
+import com.offer.dto.RollingRewardSummary;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public interface RewardService extends BaseRewardService {
+	
+    RewardSummary getCustomerRewards(
+    		@NotBlank(message = "Customer ID cannot be null or empty") String customerId,
+            @NotNull(message = "Start date cannot be null") LocalDate startDate,
+            @NotNull(message = "End date cannot be null") LocalDate endDate,
+            @NotNull(message = "Granularity cannot be null") Granularity granularity);
+
+    RewardSummary getCustomerRewards(
+    		@NotBlank(message = "Customer ID cannot be null or empty") String customerId,
+            @NotNull(message = "Start date cannot be null") LocalDate startDate,
+            @NotNull(message = "End date cannot be null") LocalDate endDate,
+            @NotNull(message = "Granularity cannot be null") Granularity granularity,
+            @NotNull(message = "Categories cannot be null") Set<String> categories);
+
+    RollingRewardSummary getRollingRewards(
+    		@NotBlank(message = "Customer ID cannot be null or empty") String customerId,
+            @NotNull(message = "Start date cannot be null") LocalDate startDate,
+            @NotNull(message = "End date cannot be null") LocalDate endDate,
+            @Positive(message = "Window length must be at least one month") int windowMonths,
+            @Positive(message = "Step must be at least one month") int stepMonths);
+    
+}
@@ -1,138 +1,296 @@
-package com.offer.service;
-
-import java.time.LocalDate;
-import java.time.YearMonth;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.stereotype.Service;
-import org.springframework.validation.annotation.Validated;
-
-import com.offer.dto.RewardSummary;
-import com.offer.dto.RewardTransactionPoints;
-import com.offer.exception.CustomerNotFoundException;
-import com.offer.exception.DataValidationException;
-import com.offer.model.Customer;
-import com.offer.model.Transaction;
-import com.offer.repository.TransactionRepository;
-
-
-@Service
-@Validated
-public class RewardServiceImpl implements RewardService {
-
-	private static final Logger log = LoggerFactory.getLogger(RewardService.class);
-
-	private final TransactionRepository transactionRepository;
-
-	public RewardServiceImpl(TransactionRepository transactionRepository) {
-		this.transactionRepository = transactionRepository;
-	}
-
-	/*
-	 * Below logic is to fetch the reward points
-	 */
-	public RewardSummary getCustomerRewards(String customerId,LocalDate startDate, LocalDate endDate) {
-
-		/*
-		 * Below method is used to validate input parameters
-		 */
-		validateInputParameters(customerId, startDate, endDate);
-
-		Customer customer = transactionRepository.getCustomerById(customerId)
-				.orElseThrow(() -> new CustomerNotFoundException("Customer not found : " + customerId));
-
-		List<Transaction> transactions = transactionRepository.getTransactionsForCustomerId(customerId, startDate,
-				endDate);
-
-		List<RewardTransactionPoints> enriched = new ArrayList<>();
-		Map<String, Long> monthlyPointsInYear = new HashMap<>();
-		long total = 0;
-
-		for (Transaction transaction : transactions) {
-
-			if (transaction.getAmount() < 0) {
-				throw new DataValidationException("Transaction amount cannot be negative");
-			}
-
-			long points = calculatePoints(transaction.getAmount());
-
-			RewardTransactionPoints rewardTransactionPoints = new RewardTransactionPoints();
-			rewardTransactionPoints.setTransactionId(transaction.getId());
-			rewardTransactionPoints.setDate(transaction.getDate());
-			rewardTransactionPoints.setAmount(transaction.getAmount());
-			rewardTransactionPoints.setPoints(points);
-			enriched.add(rewardTransactionPoints);
-
-			String monthAndYearKey = java.time.YearMonth.from(transaction.getDate()).toString();
-			monthlyPointsInYear.merge(monthAndYearKey, points, Long::sum);
-			
-		    if (monthlyPointsInYear.get(monthAndYearKey) < 0) {
-		        throw new DataValidationException("Monthly points cannot be negative for month: " + monthAndYearKey);
-		    }
-
-			total += points;
-		}
-		
-        // Validate all months in the range have at least one transaction
-        YearMonth startMonth = YearMonth.from(startDate);
-        YearMonth endMonth = YearMonth.from(endDate);
-        YearMonth cursor = startMonth;
-
-        while (!cursor.isAfter(endMonth)) {
-            String key = cursor.toString();
-            if (!monthlyPointsInYear.containsKey(key)) {
-                throw new DataValidationException(
-                        "Missing reward data for month: " + key
-                                + ". Each month in the range must have at least one transaction.");
-            }
-            cursor = cursor.plusMonths(1);
-        }
-
-
-		log.info(
-			    "Reward summary generated | customerId={} | customerName={} | from={} | to={} | totalPoints={} | monthlyBreakup={}",
-			    customerId,
-			    customer.getName(),
-			    startDate,
-			    endDate,
-			    total,
-			    monthlyPointsInYear
-			);
-
-		return new RewardSummary(customer.getId(), customer.getName(), customer.getEmail(),
-				monthlyPointsInYear, total, enriched);
-	}
-
-	/*
-	 * Below method is used to validate input parameters
-	 */
-	private void validateInputParameters(String customerId, LocalDate startDate, LocalDate endDate) {
-		if (startDate.isAfter(endDate)) {
-			throw new DataValidationException("Start date cannot be after end date");
-		}
-
-		if (startDate.isAfter(LocalDate.now()) || endDate.isAfter(LocalDate.now())) {
-			throw new DataValidationException("Dates cannot be in the future");
-		}
-	}
-
-	private long calculatePoints(double amount) {
-		double points = 0;
-		if (amount > 100) {
-			points += (amount - 100) * 2;
-			amount = 100;
-		}
-		if (amount > 50) {
-			points += (amount - 50) * 1;
-		}
-		
-		long finalPoints = (long) points;
-		return finalPoints;
-	}
-
-}
+package com.offer.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.annotation.Validated;
+
+import com.offer.dto.CampaignBonus;
+import com.offer.dto.Granularity;
+import com.offer.dto.RewardSummary;
+import com.offer.dto.RewardTransactionPoints;
+import com.offer.dto.RollingRewardSummary;
+import com.offer.dto.RollingWindowPoints;
+import com.offer.exception.CustomerNotFoundException;
+import com.offer.exception.DataValidationException;
+import com.offer.exception.MissingRewardDataException;
+import com.offer.model.Customer;
+import com.offer.model.Transaction;
+import com.offer.repository.MonthlyPoints;
+import com.offer.repository.TransactionRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+
+@Service
+@Validated
+public class RewardServiceImpl implements RewardService {
+
+	private static final Logger log = LoggerFactory.getLogger(RewardService.class);
+
+	private final TransactionRepository transactionRepository;
+	private final CampaignService campaignService;
+	private final RequestCoalescer<RewardQuery, RewardSummary> rewardQueries;
+
+	public RewardServiceImpl(TransactionRepository transactionRepository, CampaignService campaignService,
+			MeterRegistry meterRegistry) {
+		this.transactionRepository = transactionRepository;
+		this.campaignService = campaignService;
+		this.rewardQueries = new RequestCoalescer<>(Counter.builder("rewards.requests.coalesced")
+				.description("Reward queries that joined an identical in-flight computation")
+				.register(meterRegistry));
+	}
+
+	/*
+	 * Below logic is to fetch the reward points
+	 */
+	public RewardSummary getCustomerRewards(String customerId,LocalDate startDate, LocalDate endDate) {
+		return getCustomerRewards(customerId, startDate, endDate, Granularity.MONTH, Set.of());
+	}
+
+	/*
+	 * Below logic is to fetch the reward points broken down by the requested granularity.
+	 * Concurrent identical queries share a single computation.
+	 */
+	public RewardSummary getCustomerRewards(String customerId, LocalDate startDate, LocalDate endDate,
+			Granularity granularity) {
+		return getCustomerRewards(customerId, startDate, endDate, granularity, Set.of());
+	}
+
+	/*
+	 * Below logic is to fetch the reward points earned in the given merchant categories only;
+	 * an empty set means all categories
+	 */
+	public RewardSummary getCustomerRewards(String customerId, LocalDate startDate, LocalDate endDate,
+			Granularity granularity, Set<String> categories) {
+		Set<String> normalized = categories.stream().map(Transaction::normalizeCategory)
+				.collect(Collectors.toUnmodifiableSet());
+		return rewardQueries.execute(new RewardQuery(customerId, startDate, endDate, granularity, normalized),
+				() -> computeCustomerRewards(customerId, startDate, endDate, granularity, normalized));
+	}
+
+	/*
+	 * Below logic computes the summary. Points are summed into a long[] indexed by bucket
+	 * offset from startDate and the bucket keys are only rendered once all transactions
+	 * have been processed. Campaign bonuses are added on top of the base points. Unfiltered
+	 * queries consume the repository's lazy date-ordered stream, so no intermediate list is built.
+	 */
+	private RewardSummary computeCustomerRewards(String customerId, LocalDate startDate, LocalDate endDate,
+			Granularity granularity, Set<String> categories) {
+
+		/*
+		 * Below method is used to validate input parameters
+		 */
+		validateInputParameters(customerId, startDate, endDate);
+
+		Customer customer = transactionRepository.getCustomerById(customerId)
+				.orElseThrow(() -> new CustomerNotFoundException("Customer not found : " + customerId));
+
+		CampaignIndex campaigns = campaignService.getIndex();
+		List<RewardTransactionPoints> enriched = new ArrayList<>();
+		int bucketCount = boundedBucketCount(granularity, startDate, endDate);
+		long[] bucketPoints = new long[bucketCount];
+		boolean[] bucketHasTransactions = new boolean[bucketCount];
+		boolean[] monthHasTransactions = new boolean[boundedBucketCount(Granularity.MONTH, startDate, endDate)];
+		Map<String, long[]> categoryPoints = new HashMap<>();
+		long total = 0;
+
+		try (Stream<Transaction> transactions = categories.isEmpty()
+				? transactionRepository.streamTransactionsForCustomerId(customerId, startDate, endDate)
+				: transactionRepository.getTransactionsForCustomerId(customerId, startDate, endDate, categories)
+						.stream()) {
+			for (Transaction transaction : (Iterable<Transaction>) transactions::iterator) {
+
+				if (transaction.getAmount() < 0) {
+					throw new DataValidationException("Transaction amount cannot be negative");
+				}
+
+				int bucket = granularity.bucketIndex(startDate, transaction.getDate());
+				if (bucket < 0 || bucket >= bucketCount) {
+					continue;
+				}
+
+				long points = PointsCalculator.calculatePoints(transaction.getAmount());
+				List<CampaignBonus> bonuses = campaigns.bonusesFor(customerId, transaction.getDate(), points);
+				for (CampaignBonus bonus : bonuses) {
+					points += bonus.getBonusPoints();
+				}
+
+				RewardTransactionPoints rewardTransactionPoints = new RewardTransactionPoints();
+				rewardTransactionPoints.setTransactionId(transaction.getId());
+				rewardTransactionPoints.setDate(transaction.getDate());
+				rewardTransactionPoints.setAmount(transaction.getAmount());
+				rewardTransactionPoints.setPoints(points);
+				rewardTransactionPoints.setCategory(transaction.getCategory());
+				rewardTransactionPoints.setCampaigns(bonuses);
+				enriched.add(rewardTransactionPoints);
+
+				bucketPoints[bucket] += points;
+				bucketHasTransactions[bucket] = true;
+				categoryPoints.computeIfAbsent(transaction.getCategory(), k -> new long[1])[0] += points;
+				monthHasTransactions[Granularity.MONTH.bucketIndex(startDate, transaction.getDate())] = true;
+
+				total += points;
+			}
+		}
+		
+        // Validate all months in the range have at least one transaction; a category filter
+        // may legitimately leave months empty
+        for (int month = 0; month < monthHasTransactions.length && categories.isEmpty(); month++) {
+            if (!monthHasTransactions[month]) {
+                throw new MissingRewardDataException(
+                        "Missing reward data for month: " + Granularity.MONTH.bucketKey(startDate, month)
+                                + ". Each month in the range must have at least one transaction.");
+            }
+        }
+
+        Map<String, Long> pointsPerBucket = new LinkedHashMap<>();
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            if (!bucketHasTransactions[bucket]) {
+                continue;
+            }
+            String key = granularity.bucketKey(startDate, bucket);
+            if (bucketPoints[bucket] < 0) {
+                throw new DataValidationException("Points cannot be negative for period: " + key);
+            }
+            pointsPerBucket.put(key, bucketPoints[bucket]);
+        }
+
+        Map<String, Long> pointsPerCategory = new TreeMap<>();
+        categoryPoints.forEach((category, points) -> pointsPerCategory.put(category, points[0]));
+
+
+		log.info(
+			    "Reward summary generated | customerId={} | customerName={} | from={} | to={} | granularity={} | categories={} | totalPoints={} | breakup={}",
+			    customerId,
+			    customer.getName(),
+			    startDate,
+			    endDate,
+			    granularity,
+			    categories,
+			    total,
+			    pointsPerBucket
+			);
+
+		RewardSummary summary = new RewardSummary(customer.getId(), customer.getName(), customer.getEmail(),
+				pointsPerBucket, total, enriched);
+		summary.setPointsPerCategory(pointsPerCategory);
+		return summary;
+	}
+
+	/*
+	 * Below logic returns the points of every rolling window of windowMonths calendar months,
+	 * advancing stepMonths at a time, that fits inside the range. Points are summed per month,
+	 * by the store itself when no campaign applies to the range, otherwise from a single pass
+	 * over the transactions; each window total is then a difference of running sums.
+	 * Months without transactions simply contribute nothing.
+	 */
+	public RollingRewardSummary getRollingRewards(String customerId, LocalDate startDate, LocalDate endDate,
+			int windowMonths, int stepMonths) {
+
+		validateInputParameters(customerId, startDate, endDate);
+
+		Customer customer = transactionRepository.getCustomerById(customerId)
+				.orElseThrow(() -> new CustomerNotFoundException("Customer not found : " + customerId));
+
+		int monthCount = boundedBucketCount(Granularity.MONTH, startDate, endDate);
+		if (windowMonths > monthCount) {
+			throw new DataValidationException("Window of " + windowMonths + " months does not fit between "
+					+ startDate + " and " + endDate);
+		}
+
+		CampaignIndex campaigns = campaignService.getIndex();
+		long[] pointsUpToMonth = new long[monthCount + 1];
+		int[] transactionsUpToMonth = new int[monthCount + 1];
+		if (!campaigns.appliesBetween(customerId, startDate, endDate)) {
+			/* No bonuses to apply per transaction, so the store can do the monthly sums */
+			for (MonthlyPoints monthly : transactionRepository.getMonthlyPoints(customerId, startDate, endDate)) {
+				int month = Granularity.MONTH.bucketIndex(startDate, monthly.month().atDay(1));
+				pointsUpToMonth[month + 1] += monthly.points();
+				transactionsUpToMonth[month + 1] += monthly.transactionCount();
+			}
+		} else {
+			try (Stream<Transaction> transactions = transactionRepository.streamTransactionsForCustomerId(customerId,
+					startDate, endDate)) {
+				for (Transaction transaction : (Iterable<Transaction>) transactions::iterator) {
+					if (transaction.getAmount() < 0) {
+						throw new DataValidationException("Transaction amount cannot be negative");
+					}
+					int month = Granularity.MONTH.bucketIndex(startDate, transaction.getDate());
+					if (month < 0 || month >= monthCount) {
+						continue;
+					}
+					long points = PointsCalculator.calculatePoints(transaction.getAmount());
+					pointsUpToMonth[month + 1] += points
+							+ campaigns.bonusPoints(customerId, transaction.getDate(), points);
+					transactionsUpToMonth[month + 1]++;
+				}
+			}
+		}
+		for (int month = 1; month <= monthCount; month++) {
+			pointsUpToMonth[month] += pointsUpToMonth[month - 1];
+			transactionsUpToMonth[month] += transactionsUpToMonth[month - 1];
+		}
+
+		YearMonth firstMonth = YearMonth.from(startDate);
+		List<RollingWindowPoints> windows = new ArrayList<>();
+		for (int first = 0; first + windowMonths <= monthCount; first += stepMonths) {
+			int end = first + windowMonths;
+			LocalDate windowStart = first == 0 ? startDate : firstMonth.plusMonths(first).atDay(1);
+			LocalDate windowEnd = end == monthCount ? endDate : firstMonth.plusMonths(end - 1).atEndOfMonth();
+			windows.add(new RollingWindowPoints(windowStart, windowEnd, pointsUpToMonth[end] - pointsUpToMonth[first],
+					transactionsUpToMonth[end] - transactionsUpToMonth[first]));
+		}
+
+		log.info("Rolling rewards generated | customerId={} | from={} | to={} | windowMonths={} | stepMonths={} | windows={}",
+				customerId, startDate, endDate, windowMonths, stepMonths, windows.size());
+
+		return new RollingRewardSummary(customer.getId(), customer.getName(), windowMonths, stepMonths, windows);
+	}
+
+	/*
+	 * Below method returns the number of buckets the range needs, rejecting ranges that would
+	 * need more than Granularity.MAX_BUCKETS before any array is sized from them
+	 */
+	private static int boundedBucketCount(Granularity granularity, LocalDate startDate, LocalDate endDate) {
+		long bucketCount = granularity.bucketCount(startDate, endDate);
+		if (bucketCount > Granularity.MAX_BUCKETS) {
+			throw new DataValidationException("Range from " + startDate + " to " + endDate + " spans " + bucketCount
+					+ " " + granularity.name().toLowerCase(Locale.ROOT) + " buckets; at most "
+					+ Granularity.MAX_BUCKETS + " are allowed");
+		}
+		return (int) bucketCount;
+	}
+
+	/*
+	 * Below method is used to validate input parameters
+	 */
+	private void validateInputParameters(String customerId, LocalDate startDate, LocalDate endDate) {
+		if (startDate.isAfter(endDate)) {
+			throw new DataValidationException("Start date cannot be after end date");
+		}
+
+		if (startDate.isAfter(LocalDate.now()) || endDate.isAfter(LocalDate.now())) {
+			throw new DataValidationException("Dates cannot be in the future");
+		}
+	}
+
+	private record RewardQuery(String customerId, LocalDate startDate, LocalDate endDate, Granularity granularity,
+			Set<String> categories) {
+	}
+
+}
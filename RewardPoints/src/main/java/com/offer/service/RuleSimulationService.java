@@ -0,0 +1,185 @@
+package com.offer.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.offer.dto.RuleSetRequest;
+import com.offer.dto.RuleSetSimulation;
+import com.offer.dto.SimulationRequest;
+import com.offer.dto.SimulationResult;
+import com.offer.exception.DataValidationException;
+import com.offer.model.Transaction;
+import com.offer.repository.TransactionRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PreDestroy;
+
+/*
+ * What-if evaluation of candidate tier configurations over every stored transaction.
+ *
+ * Customers are split into fixed-size partitions that are read in parallel on a dedicated
+ * fork-join pool. Each transaction is read once and scored under the current rules and every
+ * candidate at the same time; each partition sums into its own per-month table and the tables
+ * are merged at the end, so workers share nothing. Nothing is written back: live points,
+ * balances and statements are untouched.
+ */
+@Service
+public class RuleSimulationService {
+
+	private static final Logger log = LoggerFactory.getLogger(RuleSimulationService.class);
+
+	private final TransactionRepository transactionRepository;
+	private final int partitionSize;
+	private final ForkJoinPool pool;
+	private final Timer simulations;
+
+	public RuleSimulationService(TransactionRepository transactionRepository,
+			@Value("${reward.simulation.parallelism:0}") int parallelism,
+			@Value("${reward.simulation.partition-size:1000}") int partitionSize, MeterRegistry meterRegistry) {
+		if (partitionSize < 1) {
+			throw new IllegalArgumentException("reward.simulation.partition-size must be at least 1");
+		}
+		this.transactionRepository = transactionRepository;
+		this.partitionSize = partitionSize;
+		this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+		this.simulations = Timer.builder("rewards.simulation")
+				.description("Duration of what-if rule simulations over all transactions").register(meterRegistry);
+	}
+
+	public SimulationResult simulate(SimulationRequest request) {
+		List<RuleSetRequest> ruleSets = request.getRuleSets();
+		Set<String> names = new HashSet<>();
+		/* Slot 0 is the current rules, candidates follow in request order */
+		TierRules[] rules = new TierRules[ruleSets.size() + 1];
+		rules[0] = TierRules.CURRENT;
+		for (int i = 0; i < ruleSets.size(); i++) {
+			if (!names.add(ruleSets.get(i).getName())) {
+				throw new DataValidationException("Duplicate rule set name: " + ruleSets.get(i).getName());
+			}
+			rules[i + 1] = TierRules.of(ruleSets.get(i).getTiers());
+		}
+
+		long start = System.nanoTime();
+		List<String> customerIds = transactionRepository.getCustomerIds();
+		int partitions = (customerIds.size() + partitionSize - 1) / partitionSize;
+		Tally tally = run(() -> IntStream.range(0, partitions).parallel()
+				.mapToObj(partition -> simulatePartition(customerIds, partition, rules))
+				.reduce(Tally::merge).orElseGet(() -> new Tally(rules.length)));
+		long elapsed = System.nanoTime() - start;
+		simulations.record(elapsed, TimeUnit.NANOSECONDS);
+
+		List<RuleSetSimulation> candidates = new ArrayList<>();
+		for (int i = 0; i < ruleSets.size(); i++) {
+			candidates.add(tally.result(ruleSets.get(i).getName(), i + 1));
+		}
+		log.info("Rule simulation finished | ruleSets={} | customers={} | transactions={} | durationMillis={}",
+				ruleSets.size(), customerIds.size(), tally.transactions, TimeUnit.NANOSECONDS.toMillis(elapsed));
+		return new SimulationResult(customerIds.size(), tally.transactions, tally.result("current", 0), candidates);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		pool.shutdownNow();
+	}
+
+	private Tally simulatePartition(List<String> customerIds, int partition, TierRules[] rules) {
+		Tally tally = new Tally(rules.length);
+		int end = Math.min(customerIds.size(), (partition + 1) * partitionSize);
+		for (int i = partition * partitionSize; i < end; i++) {
+			try (Stream<Transaction> transactions = transactionRepository
+					.streamTransactionsForCustomerId(customerIds.get(i), LocalDate.MIN, LocalDate.MAX)) {
+				transactions.forEach(transaction -> tally.add(transaction, rules));
+			}
+		}
+		return tally;
+	}
+
+	private Tally run(Callable<Tally> task) {
+		try {
+			return pool.submit(task).get();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw new IllegalStateException("Rule simulation failed", e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Rule simulation interrupted", e);
+		}
+	}
+
+	/*
+	 * Below class holds one worker's points per month, one slot per rule set. Transactions of a
+	 * customer arrive in date order, so the row of the last month is kept at hand.
+	 */
+	private static final class Tally {
+
+		private final int width;
+		private final Map<YearMonth, long[]> months = new HashMap<>();
+		private long transactions;
+		private int lastYear = Integer.MIN_VALUE;
+		private int lastMonth;
+		private long[] lastRow;
+
+		private Tally(int width) {
+			this.width = width;
+		}
+
+		private void add(Transaction transaction, TierRules[] rules) {
+			LocalDate date = transaction.getDate();
+			if (date.getYear() != lastYear || date.getMonthValue() != lastMonth) {
+				lastYear = date.getYear();
+				lastMonth = date.getMonthValue();
+				lastRow = months.computeIfAbsent(YearMonth.of(lastYear, lastMonth), k -> new long[width]);
+			}
+			double amount = transaction.getAmount();
+			for (int i = 0; i < rules.length; i++) {
+				lastRow[i] += rules[i].calculatePoints(amount);
+			}
+			transactions++;
+		}
+
+		private Tally merge(Tally other) {
+			other.months.forEach((month, row) -> {
+				long[] mine = months.computeIfAbsent(month, k -> new long[width]);
+				for (int i = 0; i < width; i++) {
+					mine[i] += row[i];
+				}
+			});
+			transactions += other.transactions;
+			return this;
+		}
+
+		private RuleSetSimulation result(String name, int slot) {
+			Map<String, Long> pointsPerMonth = new LinkedHashMap<>();
+			long total = 0;
+			for (Map.Entry<YearMonth, long[]> entry : new TreeMap<>(months).entrySet()) {
+				pointsPerMonth.put(entry.getKey().toString(), entry.getValue()[slot]);
+				total += entry.getValue()[slot];
+			}
+			return new RuleSetSimulation(name, total, pointsPerMonth);
+		}
+	}
+
+}
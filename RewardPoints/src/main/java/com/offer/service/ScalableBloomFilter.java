@@ -0,0 +1,149 @@
+package com.offer.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * Scalable Bloom filter (Almeida et al.): a chain of plain Bloom filters where each new layer
+ * has twice the capacity and half the false positive rate of the previous one, so the
+ * compound false positive rate stays below the configured bound however many keys are added.
+ * Only the newest layer takes inserts; a lookup probes every layer.
+ *
+ * Bits are set with atomic updates and layers are published through a volatile array, so
+ * lookups and inserts need no lock. A key is never reported absent once add has returned.
+ */
+final class ScalableBloomFilter {
+
+	private static final double LN2_SQUARED = Math.log(2) * Math.log(2);
+
+	/* Ratio between the false positive rates of consecutive layers */
+	private static final double TIGHTENING_RATIO = 0.5;
+
+	private final int initialCapacity;
+	private final double falsePositiveRate;
+	private volatile Layer[] layers;
+
+	ScalableBloomFilter(int initialCapacity, double falsePositiveRate) {
+		if (initialCapacity < 1) {
+			throw new IllegalArgumentException("Initial capacity must be at least 1");
+		}
+		if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+			throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+		}
+		this.initialCapacity = initialCapacity;
+		this.falsePositiveRate = falsePositiveRate;
+		this.layers = new Layer[] { newLayer(0) };
+	}
+
+	boolean mightContain(String key) {
+		long hash = hash(key);
+		for (Layer layer : layers) {
+			if (layer.mightContain(hash)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	void add(String key) {
+		long hash = hash(key);
+		Layer[] current = layers;
+		Layer newest = current[current.length - 1];
+		if (newest.count.incrementAndGet() > newest.capacity) {
+			newest = grow(current);
+		}
+		newest.add(hash);
+	}
+
+	int layerCount() {
+		return layers.length;
+	}
+
+	long bitCount() {
+		long bits = 0;
+		for (Layer layer : layers) {
+			bits += layer.bitCount;
+		}
+		return bits;
+	}
+
+	/*
+	 * Below method appends a layer unless another thread already did, and reserves a slot in it
+	 */
+	private synchronized Layer grow(Layer[] seen) {
+		Layer[] current = layers;
+		if (current == seen) {
+			Layer[] grown = new Layer[current.length + 1];
+			System.arraycopy(current, 0, grown, 0, current.length);
+			grown[current.length] = newLayer(current.length);
+			layers = grown;
+			current = grown;
+		}
+		Layer newest = current[current.length - 1];
+		newest.count.incrementAndGet();
+		return newest;
+	}
+
+	private Layer newLayer(int index) {
+		long capacity = Math.min((long) initialCapacity << Math.min(index, 30), Integer.MAX_VALUE);
+		double rate = falsePositiveRate * (1 - TIGHTENING_RATIO) * Math.pow(TIGHTENING_RATIO, index);
+		long bits = Math.max(64, (long) Math.ceil(-capacity * Math.log(rate) / LN2_SQUARED));
+		int hashes = Math.max(1, (int) Math.round(bits / (double) capacity * Math.log(2)));
+		return new Layer((int) capacity, bits, hashes);
+	}
+
+	/*
+	 * Below method is a 64-bit FNV-1a hash over the characters, finished with the murmur3 mixer
+	 */
+	static long hash(String key) {
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < key.length(); i++) {
+			hash = (hash ^ key.charAt(i)) * 0x100000001b3L;
+		}
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+
+	private static final class Layer {
+
+		private final int capacity;
+		private final long bitCount;
+		private final int hashes;
+		private final AtomicLongArray words;
+		private final AtomicInteger count = new AtomicInteger();
+
+		private Layer(int capacity, long bitCount, int hashes) {
+			this.capacity = capacity;
+			this.bitCount = bitCount;
+			this.hashes = hashes;
+			this.words = new AtomicLongArray((int) ((bitCount + 63) >>> 6));
+		}
+
+		/* Positions come from double hashing: h1 + i * h2 over the two halves of the hash */
+		private boolean mightContain(long hash) {
+			long h1 = hash;
+			long h2 = Long.rotateLeft(hash, 32) | 1;
+			for (int i = 0; i < hashes; i++) {
+				long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+				if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private void add(long hash) {
+			long h1 = hash;
+			long h2 = Long.rotateLeft(hash, 32) | 1;
+			for (int i = 0; i < hashes; i++) {
+				long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+				long mask = 1L << bit;
+				words.getAndAccumulate((int) (bit >>> 6), mask, (word, m) -> word | m);
+			}
+		}
+	}
+}
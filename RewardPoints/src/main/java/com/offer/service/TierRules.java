@@ -0,0 +1,55 @@
+package com.offer.service;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import com.offer.dto.TierRule;
+import com.offer.exception.DataValidationException;
+
+/*
+ * Below class is a tier configuration compiled for evaluation: thresholds ascending, each
+ * paying its rate on the dollars between it and the next threshold. Points are added from the
+ * top tier down and truncated once, the same arithmetic as PointsCalculator, so CURRENT gives
+ * exactly the live points.
+ */
+public final class TierRules {
+
+	/* The rules PointsCalculator applies today */
+	public static final TierRules CURRENT = new TierRules(new double[] { 50, 100 }, new double[] { 1, 2 });
+
+	private final double[] thresholds;
+	private final double[] rates;
+
+	private TierRules(double[] thresholds, double[] rates) {
+		this.thresholds = thresholds;
+		this.rates = rates;
+	}
+
+	public static TierRules of(List<TierRule> tiers) {
+		TierRule[] sorted = tiers.toArray(new TierRule[0]);
+		Arrays.sort(sorted, Comparator.comparingDouble(TierRule::getThreshold));
+		double[] thresholds = new double[sorted.length];
+		double[] rates = new double[sorted.length];
+		for (int i = 0; i < sorted.length; i++) {
+			if (i > 0 && sorted[i].getThreshold() == sorted[i - 1].getThreshold()) {
+				throw new DataValidationException("Two tiers share the threshold " + sorted[i].getThreshold());
+			}
+			thresholds[i] = sorted[i].getThreshold();
+			rates[i] = sorted[i].getPointsPerDollar();
+		}
+		return new TierRules(thresholds, rates);
+	}
+
+	public long calculatePoints(double amount) {
+		double points = 0;
+		for (int i = thresholds.length - 1; i >= 0; i--) {
+			if (amount > thresholds[i]) {
+				points += (amount - thresholds[i]) * rates[i];
+				amount = thresholds[i];
+			}
+		}
+		return (long) points;
+	}
+
+}
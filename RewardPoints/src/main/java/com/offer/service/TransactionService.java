@@ -0,0 +1,13 @@
+package com.offer.service;
+
+import com.offer.dto.RewardTransactionPoints;
+import com.offer.dto.TransactionRequest;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+public interface TransactionService {
+	
+    RewardTransactionPoints ingest(@NotNull(message = "Transaction cannot be null") @Valid TransactionRequest request);
+
+}
@@ -0,0 +1,124 @@
+package com.offer.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.annotation.Validated;
+
+import com.offer.dto.CampaignBonus;
+import com.offer.dto.RewardTransactionPoints;
+import com.offer.dto.TransactionRequest;
+import com.offer.exception.CustomerNotFoundException;
+import com.offer.exception.DataValidationException;
+import com.offer.exception.DuplicateTransactionException;
+import com.offer.model.Transaction;
+import com.offer.repository.TransactionRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Service
+@Validated
+public class TransactionServiceImpl implements TransactionService {
+
+	private static final Logger log = LoggerFactory.getLogger(TransactionService.class);
+
+	private final TransactionRepository transactionRepository;
+	private final CustomerPointsTally customerPointsTally;
+	private final CampaignService campaignService;
+	private final IdempotencyGuard idempotencyGuard;
+	private final ApplicationEventPublisher eventPublisher;
+	private final Counter listenerFailures;
+
+	public TransactionServiceImpl(TransactionRepository transactionRepository, CustomerPointsTally customerPointsTally,
+			CampaignService campaignService, IdempotencyGuard idempotencyGuard, ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+		this.transactionRepository = transactionRepository;
+		this.customerPointsTally = customerPointsTally;
+		this.campaignService = campaignService;
+		this.idempotencyGuard = idempotencyGuard;
+		this.eventPublisher = eventPublisher;
+		this.listenerFailures = Counter.builder("rewards.ingest.listener.failures")
+				.description("PointsEarnedEvent listeners that failed after the transaction was stored")
+				.register(meterRegistry);
+	}
+
+	/*
+	 * Below logic stores a new transaction, credits the bonus of every campaign active for it,
+	 * updates the customer's running totals and publishes a PointsEarnedEvent for live
+	 * subscribers, all under the customer's lock. A retry carrying an idempotency key that was already stored for the customer is rejected with the
+	 * original transaction id.
+	 */
+	public RewardTransactionPoints ingest(TransactionRequest request) {
+
+		transactionRepository.getCustomerById(request.getCustomerId())
+				.orElseThrow(() -> new CustomerNotFoundException("Customer not found : " + request.getCustomerId()));
+
+		if (request.getAmount() < 0) {
+			throw new DataValidationException("Transaction amount cannot be negative");
+		}
+		if (BigDecimal.valueOf(request.getAmount()).scale() > 2) {
+			throw new DataValidationException("Transaction amount cannot have fractions of a cent");
+		}
+		if (request.getDate().isAfter(LocalDate.now())) {
+			throw new DataValidationException("Transaction date cannot be in the future");
+		}
+
+		String idempotencyKey = request.getIdempotencyKey();
+		if (idempotencyKey == null || idempotencyKey.isBlank()) {
+			return store(request, null);
+		}
+		synchronized (idempotencyGuard.lockFor(request.getCustomerId(), idempotencyKey)) {
+			idempotencyGuard.findDuplicate(request.getCustomerId(), idempotencyKey).ifPresent(original -> {
+				throw new DuplicateTransactionException("Transaction already ingested with idempotency key : "
+						+ idempotencyKey, original.getId());
+			});
+			RewardTransactionPoints stored = store(request, idempotencyKey);
+			idempotencyGuard.remember(request.getCustomerId(), idempotencyKey);
+			return stored;
+		}
+	}
+
+	private RewardTransactionPoints store(TransactionRequest request, String idempotencyKey) {
+		Transaction transaction = new Transaction(request.getCustomerId(), request.getAmount(), request.getDate(),
+				request.getCategory());
+		transaction.setIdempotencyKey(idempotencyKey);
+		long points = PointsCalculator.calculatePoints(transaction.getAmount());
+		List<CampaignBonus> bonuses = campaignService.getIndex().bonusesFor(transaction.getCustomerId(),
+				transaction.getDate(), points);
+		for (CampaignBonus bonus : bonuses) {
+			points += bonus.getBonusPoints();
+		}
+
+		customerPointsTally.record(transaction, points, transactionRepository::addTransaction, this::publish);
+
+		log.info("Transaction ingested | customerId={} | transactionId={} | date={} | amount={} | points={}",
+				transaction.getCustomerId(), transaction.getId(), transaction.getDate(), transaction.getAmount(),
+				points);
+
+		RewardTransactionPoints stored = new RewardTransactionPoints(transaction.getId(), transaction.getDate(),
+				transaction.getAmount(), points);
+		stored.setCategory(transaction.getCategory());
+		stored.setCampaigns(bonuses);
+		return stored;
+	}
+
+	/*
+	 * Below method publishes the event of a transaction that is already stored; a failing
+	 * listener is logged and counted, the ingest itself still succeeds
+	 */
+	private void publish(PointsEarnedEvent event) {
+		try {
+			eventPublisher.publishEvent(event);
+		} catch (RuntimeException e) {
+			listenerFailures.increment();
+			log.error("Points listener failed | customerId={} | transactionId={}", event.transaction().getCustomerId(),
+					event.transaction().getId(), e);
+		}
+	}
+
+}
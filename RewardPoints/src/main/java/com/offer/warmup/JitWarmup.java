@@ -0,0 +1,264 @@
+package com.offer.warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggerConfiguration;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.offer.controller.RewardController;
+import com.offer.controller.RewardSummaryHttpMessageConverter;
+import com.offer.dto.Granularity;
+import com.offer.dto.RewardSummary;
+import com.offer.repository.MonthlyPoints;
+import com.offer.repository.TransactionRepository;
+import com.offer.service.RewardService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/*
+ * Optional start-up phase that drives synthetic reward queries through RewardController,
+ * RewardServiceImpl and the TransactionRepository, and encodes each response the way the web
+ * layer would (RewardSummaryHttpMessageConverter for summaries, Jackson for everything else), so
+ * the hot methods are JIT-compiled before real traffic arrives.
+ *
+ * Queries run in rounds until, after a minimum number of iterations, the JVM's total compilation
+ * time has stayed flat for a few consecutive rounds, or until the time budget runs out. It runs
+ * as an ApplicationRunner, and Spring Boot only switches readiness to ACCEPTING_TRAFFIC once all
+ * runners have returned, so /actuator/health/readiness stays OUT_OF_SERVICE until warm-up ends.
+ */
+@Component
+@ConditionalOnProperty(name = "reward.warmup.enabled", havingValue = "true")
+public class JitWarmup implements ApplicationRunner {
+
+	private static final Logger log = LoggerFactory.getLogger(JitWarmup.class);
+
+	/* Request loggers on the warmed path, muted so warm-up does not flood the log */
+	private static final String[] QUIET_LOGGERS = { RewardController.class.getName(), RewardService.class.getName() };
+
+	private static final int MAX_TARGETS = 64;
+
+	private final RewardController rewardController;
+	private final TransactionRepository transactionRepository;
+	private final RewardSummaryHttpMessageConverter rewardSummaryConverter;
+	private final ObjectMapper objectMapper;
+	private final LoggingSystem loggingSystem;
+	private final MeterRegistry meterRegistry;
+	private final Duration timeBudget;
+	private final int minIterations;
+	private final int roundSize;
+	private final int stableRounds;
+	private final long quietCompileMillis;
+	private final LongSupplier compilationMillis;
+	private volatile long iterations;
+
+	@Autowired
+	public JitWarmup(RewardController rewardController, TransactionRepository transactionRepository,
+			RewardSummaryHttpMessageConverter rewardSummaryConverter, ObjectMapper objectMapper,
+			LoggingSystem loggingSystem, MeterRegistry meterRegistry,
+			@Value("${reward.warmup.time-budget:30s}") Duration timeBudget,
+			@Value("${reward.warmup.min-iterations:10000}") int minIterations,
+			@Value("${reward.warmup.round-size:500}") int roundSize,
+			@Value("${reward.warmup.stable-rounds:3}") int stableRounds,
+			@Value("${reward.warmup.quiet-compile-millis:5}") long quietCompileMillis) {
+		this(rewardController, transactionRepository, rewardSummaryConverter, objectMapper, loggingSystem,
+				meterRegistry, timeBudget, minIterations, roundSize, stableRounds, quietCompileMillis,
+				jvmCompilationMillis());
+	}
+
+	JitWarmup(RewardController rewardController, TransactionRepository transactionRepository,
+			RewardSummaryHttpMessageConverter rewardSummaryConverter, ObjectMapper objectMapper,
+			LoggingSystem loggingSystem, MeterRegistry meterRegistry, Duration timeBudget, int minIterations,
+			int roundSize, int stableRounds, long quietCompileMillis, LongSupplier compilationMillis) {
+		if (roundSize < 1 || stableRounds < 1) {
+			throw new IllegalArgumentException("reward.warmup.round-size and stable-rounds must be at least 1");
+		}
+		this.rewardController = rewardController;
+		this.transactionRepository = transactionRepository;
+		this.rewardSummaryConverter = rewardSummaryConverter;
+		this.objectMapper = objectMapper;
+		this.loggingSystem = loggingSystem;
+		this.meterRegistry = meterRegistry;
+		this.timeBudget = timeBudget;
+		this.minIterations = minIterations;
+		this.roundSize = roundSize;
+		this.stableRounds = stableRounds;
+		this.quietCompileMillis = quietCompileMillis;
+		this.compilationMillis = compilationMillis;
+		Gauge.builder("rewards.warmup.iterations", this, JitWarmup::getIterations)
+				.description("Synthetic reward queries run during start-up warm-up").register(meterRegistry);
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		List<Target> targets = targets();
+		if (targets.isEmpty()) {
+			log.warn("JIT warm-up skipped | reason=no transactions to query");
+			return;
+		}
+
+		List<LoggerConfiguration> muted = mute();
+		long start = System.nanoTime();
+		long deadline = start + timeBudget.toNanos();
+		long failures = 0;
+		int quietRounds = 0;
+		long lastCompilation = compilationMillis.getAsLong();
+		String outcome;
+		try {
+			while (true) {
+				for (int i = 0; i < roundSize; i++) {
+					if (!query(targets.get((int) (iterations % targets.size())), iterations)) {
+						failures++;
+					}
+					iterations++;
+				}
+				long compilation = compilationMillis.getAsLong();
+				quietRounds = compilation - lastCompilation <= quietCompileMillis ? quietRounds + 1 : 0;
+				lastCompilation = compilation;
+				if (iterations >= minIterations && quietRounds >= stableRounds) {
+					outcome = "compiled";
+					break;
+				}
+				if (System.nanoTime() - deadline >= 0) {
+					outcome = "time_budget";
+					break;
+				}
+			}
+		} finally {
+			restore(muted);
+		}
+
+		long elapsed = System.nanoTime() - start;
+		Timer.builder("rewards.warmup").tag("outcome", outcome)
+				.description("Duration of the start-up JIT warm-up").register(meterRegistry)
+				.record(elapsed, TimeUnit.NANOSECONDS);
+		log.info("JIT warm-up finished | outcome={} | iterations={} | failures={} | durationMillis={} | compilationMillis={}",
+				outcome, iterations, failures, TimeUnit.NANOSECONDS.toMillis(elapsed), lastCompilation);
+	}
+
+	public long getIterations() {
+		return iterations;
+	}
+
+	/*
+	 * Below method runs one synthetic query; most are monthly summaries at a rotating granularity,
+	 * every fourth one is a rolling-window query
+	 */
+	private boolean query(Target target, long iteration) {
+		try {
+			Object response;
+			if (iteration % 4 == 3) {
+				response = rewardController.getRollingRewards(target.customerId(), target.startDate(),
+						target.endDate(), 1, 1);
+			} else {
+				Granularity granularity = Granularity.values()[(int) (iteration % Granularity.values().length)];
+				response = rewardController.getRewards(target.customerId(), target.startDate(), target.endDate(),
+						granularity, null);
+			}
+			if (response instanceof RewardSummary summary
+					&& rewardSummaryConverter.canWrite(summary.getClass(), MediaType.APPLICATION_JSON)) {
+				ResponseBody body = new ResponseBody();
+				rewardSummaryConverter.write(summary, MediaType.APPLICATION_JSON, body);
+				return body.size() > 0;
+			}
+			return objectMapper.writeValueAsBytes(response).length > 0;
+		} catch (RuntimeException | IOException e) {
+			return false;
+		}
+	}
+
+	/*
+	 * Below method picks single months that have transactions, so the summaries pass the
+	 * month coverage rule
+	 */
+	private List<Target> targets() {
+		LocalDate today = LocalDate.now();
+		List<Target> targets = new ArrayList<>();
+		for (String customerId : transactionRepository.getCustomerIds()) {
+			for (MonthlyPoints month : transactionRepository.getMonthlyPoints(customerId, LocalDate.MIN, today)) {
+				LocalDate endOfMonth = month.month().atEndOfMonth();
+				targets.add(new Target(customerId, month.month().atDay(1), endOfMonth.isAfter(today) ? today : endOfMonth));
+				if (targets.size() == MAX_TARGETS) {
+					return targets;
+				}
+			}
+		}
+		return targets;
+	}
+
+	private List<LoggerConfiguration> mute() {
+		List<LoggerConfiguration> previous = new ArrayList<>();
+		for (String name : QUIET_LOGGERS) {
+			previous.add(loggingSystem.getLoggerConfiguration(name));
+			loggingSystem.setLogLevel(name, LogLevel.WARN);
+		}
+		return previous;
+	}
+
+	private void restore(List<LoggerConfiguration> previous) {
+		for (int i = 0; i < QUIET_LOGGERS.length; i++) {
+			LoggerConfiguration configuration = previous.get(i);
+			loggingSystem.setLogLevel(QUIET_LOGGERS[i],
+					configuration != null ? configuration.getConfiguredLevel() : null);
+		}
+	}
+
+	private static LongSupplier jvmCompilationMillis() {
+		CompilationMXBean compiler = ManagementFactory.getCompilationMXBean();
+		if (compiler == null || !compiler.isCompilationTimeMonitoringSupported()) {
+			/* No compiler statistics: every round looks quiet, so min-iterations decides */
+			return () -> 0;
+		}
+		return compiler::getTotalCompilationTime;
+	}
+
+	private record Target(String customerId, LocalDate startDate, LocalDate endDate) {
+	}
+
+	/*
+	 * Below class stands in for the servlet response when a converter writes a warm-up body
+	 */
+	private static final class ResponseBody implements HttpOutputMessage {
+
+		private final HttpHeaders headers = new HttpHeaders();
+		private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+		@Override
+		public OutputStream getBody() {
+			return body;
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return headers;
+		}
+
+		int size() {
+			return body.size();
+		}
+	}
+}
@@ -0,0 +1,51 @@
+package com.offer;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.Assumptions;
+
+/**
+ * Measures the bytes allocated on the current thread while running an action, using the
+ * HotSpot per-thread allocation counter. Tests are skipped on JVMs that do not support it.
+ */
+public final class AllocationMeter {
+
+    private static final int WARMUP_RUNS = 200;
+    private static final int MEASURED_RUNS = 20;
+
+    private final com.sun.management.ThreadMXBean threads;
+
+    private AllocationMeter(com.sun.management.ThreadMXBean threads) {
+        this.threads = threads;
+    }
+
+    public static AllocationMeter create() {
+        Assumptions.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+                "per-thread allocation counter not available");
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        Assumptions.assumeTrue(threads.isThreadAllocatedMemorySupported(),
+                "per-thread allocation counter not supported");
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return new AllocationMeter(threads);
+    }
+
+    /*
+     * Below method warms the action up so that it runs JIT-compiled, then returns the lowest
+     * allocation of several measured runs; the minimum filters out one-off allocations such
+     * as class loading or lazily grown logging buffers
+     */
+    public long bytesPerCall(Runnable action) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            action.run();
+        }
+        long threadId = Thread.currentThread().getId();
+        long lowest = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long before = threads.getThreadAllocatedBytes(threadId);
+            action.run();
+            lowest = Math.min(lowest, threads.getThreadAllocatedBytes(threadId) - before);
+        }
+        return lowest;
+    }
+}
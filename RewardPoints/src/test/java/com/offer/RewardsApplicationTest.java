@@ -1,17 +1,17 @@
-package com.offer;
-
-import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
-
-/**
- * Unit test for simple App.
- */
-@SpringBootTest
-public class RewardsApplicationTest {
-	
-	@Test
-	void contextLoads() {
-		// Test passes if the Spring Application Context loads successfully.
-	}
- 
-}
+package com.offer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Unit test for simple App.
+ */
+@SpringBootTest
+public class RewardsApplicationTest {
+	
+	@Test
+	void contextLoads() {
+		// Test passes if the Spring Application Context loads successfully.
+	}
+ 
+}
@@ -0,0 +1,78 @@
+package com.offer.admission;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class AdmissionControlFilterTest {
+
+    @Test
+    void testShedRequestGets503WithRetryAfter() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("rewards", 1, 1, 1, 0, 0, false);
+        AdmissionControlFilter filter = new AdmissionControlFilter(
+                List.of(new AdmissionControlFilter.Route(List.of("/rewards/*"), limiter, 2)));
+        assertTrue(limiter.tryAcquire());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/rewards/1"), response, chain);
+
+        assertEquals(503, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void testAdmittedRequestReleasesPermit() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("rewards", 1, 1, 1, 0, 0, false);
+        AdmissionControlFilter filter = new AdmissionControlFilter(
+                List.of(new AdmissionControlFilter.Route(List.of("/rewards/*"), limiter, 1)));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/rewards/1"), response, chain);
+
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest());
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(1, limiter.getAcceptedCount());
+    }
+
+    @Test
+    void testUnmatchedPathBypassesLimiter() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("rewards", 1, 1, 1, 0, 0, false);
+        AdmissionControlFilter filter = new AdmissionControlFilter(
+                List.of(new AdmissionControlFilter.Route(List.of("/rewards/*"), limiter, 1)));
+        assertTrue(limiter.tryAcquire());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), response, new MockFilterChain());
+
+        assertEquals(200, response.getStatus());
+        assertEquals(0, limiter.getShedCount());
+    }
+
+    @Test
+    void testNestedRewardPathsShareTheGroupButStreamsAreExcluded() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("rewards", 1, 1, 1, 0, 0, false);
+        AdmissionControlFilter filter = new AdmissionControlFilter(List.of("/rewards/*/stream"),
+                List.of(new AdmissionControlFilter.Route(List.of("/rewards/**"), limiter, 1)));
+        assertTrue(limiter.tryAcquire());
+
+        for (String path : List.of("/rewards/1", "/rewards/1/rolling", "/rewards/1/balance")) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", path), response, new MockFilterChain());
+            assertEquals(503, response.getStatus(), path);
+        }
+        MockHttpServletResponse stream = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/rewards/1/stream"), stream, new MockFilterChain());
+
+        assertEquals(200, stream.getStatus());
+        assertEquals(3, limiter.getShedCount());
+    }
+}
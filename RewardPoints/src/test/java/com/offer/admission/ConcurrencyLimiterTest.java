@@ -0,0 +1,117 @@
+package com.offer.admission;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ConcurrencyLimiterTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testRequestOverLimitIsShedWhenQueueIsFull() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 2, 1, 2, 0, 0, false);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        assertEquals(2, limiter.getAcceptedCount());
+        assertEquals(1, limiter.getShedCount());
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    void testQueuedRequestIsAdmittedWhenPermitIsReleased() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 1, 1, 1, 1, TimeUnit.SECONDS.toNanos(5), false);
+        assertTrue(limiter.tryAcquire());
+
+        CountDownLatch started = new CountDownLatch(1);
+        Future<Boolean> queued = executor.submit(() -> {
+            started.countDown();
+            return limiter.tryAcquire();
+        });
+        started.await();
+        waitForQueueDepth(limiter, 1);
+
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(1));
+
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+        assertEquals(0, limiter.getQueueDepth());
+        assertEquals(0, limiter.getShedCount());
+    }
+
+    @Test
+    void testQueuedRequestIsShedAfterMaxWait() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 1, 1, 1, 5, TimeUnit.MILLISECONDS.toNanos(20),
+                false);
+        assertTrue(limiter.tryAcquire());
+
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1, limiter.getShedCount());
+        assertEquals(0, limiter.getQueueDepth());
+    }
+
+    @Test
+    void testAdaptiveLimitShrinksWhenLatencyRises() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 50, 5, 100, 0, 0, true);
+
+        for (int i = 0; i < 200; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        int steadyLimit = limiter.getLimit();
+
+        for (int i = 0; i < 200; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(100));
+        }
+
+        assertTrue(limiter.getLimit() < steadyLimit);
+        assertTrue(limiter.getLimit() >= 5);
+    }
+
+    @Test
+    void testAdaptiveLimitGrowsWhileSaturatedAtSteadyLatency() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 4, 1, 64, 0, 0, true);
+
+        for (int round = 0; round < 50; round++) {
+            int limit = limiter.getLimit();
+            for (int i = 0; i < limit; i++) {
+                assertTrue(limiter.tryAcquire());
+            }
+            for (int i = 0; i < limit; i++) {
+                limiter.release(TimeUnit.MILLISECONDS.toNanos(10));
+            }
+        }
+
+        assertTrue(limiter.getLimit() > 4);
+        assertTrue(limiter.getLimit() <= 64);
+    }
+
+    @Test
+    void testInvalidLimitsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrencyLimiter("test", 10, 1, 5, 0, 0, false));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrencyLimiter("test", 1, 0, 5, 0, 0, false));
+    }
+
+    private void waitForQueueDepth(ConcurrencyLimiter limiter, int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (limiter.getQueueDepth() < depth && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(depth, limiter.getQueueDepth());
+    }
+}
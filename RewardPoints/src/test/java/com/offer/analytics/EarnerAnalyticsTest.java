@@ -0,0 +1,78 @@
+package com.offer.analytics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.offer.dto.MonthlyEarnerStats;
+import com.offer.model.Transaction;
+import com.offer.repository.InMemoryTransactionRepository;
+import com.offer.service.CampaignService;
+import com.offer.service.PointsEarnedEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EarnerAnalyticsTest {
+
+    private static final YearMonth MARCH = YearMonth.of(2024, 3);
+
+    private InMemoryTransactionRepository repository;
+    private EarnerAnalytics analytics;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryTransactionRepository(1_000);
+        repository.addTransaction(new Transaction("C1", 120.0, LocalDate.of(2024, 3, 1))); // 90 points
+        repository.addTransaction(new Transaction("C2", 60.0, LocalDate.of(2024, 3, 2))); // 10 points
+        repository.addTransaction(new Transaction("C3", 40.0, LocalDate.of(2024, 3, 2))); // no points
+        meterRegistry = new SimpleMeterRegistry();
+        analytics = new EarnerAnalytics(repository, new CampaignService(), 14, 0.01, meterRegistry);
+        analytics.load();
+    }
+
+    @Test
+    void testLoadCountsOnlyCustomersWhoEarnedPoints() {
+        MonthlyEarnerStats stats = analytics.getMonthlyStats(MARCH);
+
+        assertEquals(2, stats.getActiveEarners());
+        assertEquals(10, stats.getPointsMedian());
+        assertEquals(90, stats.getPointsP99(), 1);
+    }
+
+    @Test
+    void testIngestMovesCustomerWithinDistribution() {
+        Transaction transaction = new Transaction("C2", 150.0, LocalDate.of(2024, 3, 20));
+        analytics.onPointsEarned(new PointsEarnedEvent(transaction, 150, MARCH, 10, 160, 160));
+        Transaction newcomer = new Transaction("C3", 70.0, LocalDate.of(2024, 3, 21));
+        analytics.onPointsEarned(new PointsEarnedEvent(newcomer, 20, MARCH, 0, 20, 20));
+
+        MonthlyEarnerStats stats = analytics.getMonthlyStats(MARCH);
+
+        assertEquals(3, stats.getActiveEarners());
+        assertEquals(90, stats.getPointsMedian(), 1);
+        assertEquals(160, stats.getPointsP99(), 2);
+    }
+
+    @Test
+    void testUnappliableUpdateIsCountedNotThrown() {
+        // nobody had 500 points in March, so there is nothing to move
+        Transaction transaction = new Transaction("C3", 80.0, LocalDate.of(2024, 3, 22));
+        assertDoesNotThrow(() -> analytics.onPointsEarned(new PointsEarnedEvent(transaction, 30, MARCH, 500, 530, 530)));
+
+        assertEquals(1.0, meterRegistry.get("rewards.analytics.update.failures").counter().count());
+        assertEquals(2, analytics.getMonthlyStats(MARCH).getActiveEarners());
+    }
+
+    @Test
+    void testUnknownMonthIsEmpty() {
+        MonthlyEarnerStats stats = analytics.getMonthlyStats(YearMonth.of(2020, 1));
+
+        assertEquals(0, stats.getActiveEarners());
+        assertEquals(0, stats.getPointsMedian());
+    }
+}
@@ -0,0 +1,31 @@
+package com.offer.analytics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class HyperLogLogTest {
+
+    @Test
+    void testEstimateIsWithinErrorBoundForManyCustomers() {
+        HyperLogLog sketch = new HyperLogLog(14);
+        for (int i = 0; i < 200_000; i++) {
+            sketch.add("customer-" + i);
+            sketch.add("customer-" + (i / 2));
+        }
+
+        double relativeError = Math.abs(sketch.estimate() - 200_000) / 200_000.0;
+        assertTrue(relativeError < 4 * sketch.standardError(), "relative error " + relativeError);
+    }
+
+    @Test
+    void testSmallCardinalitiesAreNearlyExact() {
+        HyperLogLog sketch = new HyperLogLog(14);
+        assertEquals(0, sketch.estimate());
+        for (int i = 1; i <= 50; i++) {
+            sketch.add(String.valueOf(i));
+            sketch.add(String.valueOf(i));
+        }
+        assertEquals(50, sketch.estimate());
+    }
+}
@@ -0,0 +1,50 @@
+package com.offer.analytics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class PointsDistributionTest {
+
+    @Test
+    void testQuantilesAreWithinRelativeAccuracy() {
+        PointsDistribution sketch = new PointsDistribution(0.01);
+        Random random = new Random(7);
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1 + (long) Math.abs(random.nextGaussian() * 500);
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double q : new double[] { 0.5, 0.9, 0.99 }) {
+            long exact = values[(int) Math.ceil(q * values.length) - 1];
+            assertEquals(exact, sketch.quantile(q), exact * 0.011 + 1, "quantile " + q);
+        }
+    }
+
+    @Test
+    void testMovingAValueUpdatesQuantiles() {
+        PointsDistribution sketch = new PointsDistribution(0.01);
+        sketch.add(10);
+        sketch.add(20);
+        sketch.add(30);
+        assertEquals(20, sketch.quantile(0.5));
+
+        sketch.remove(10);
+        sketch.add(1_000);
+
+        assertEquals(3, sketch.getCount());
+        assertEquals(30, sketch.quantile(0.5));
+        assertEquals(1_000, sketch.quantile(1.0), 10);
+        assertThrows(IllegalStateException.class, () -> sketch.remove(5));
+    }
+
+    @Test
+    void testEmptySketchReturnsZero() {
+        assertEquals(0, new PointsDistribution(0.01).quantile(0.99));
+    }
+}
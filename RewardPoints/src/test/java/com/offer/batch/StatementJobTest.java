@@ -0,0 +1,190 @@
+package com.offer.batch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.offer.dto.RewardSummary;
+import com.offer.dto.RewardTransactionPoints;
+import com.offer.dto.StatementJobStatus;
+import com.offer.exception.DataValidationException;
+import com.offer.exception.MissingRewardDataException;
+import com.offer.model.Customer;
+import com.offer.repository.TransactionRepository;
+import com.offer.service.RewardService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class StatementJobTest {
+
+    private static final YearMonth PERIOD = YearMonth.of(2025, 3);
+    private static final LocalDate START = PERIOD.atDay(1);
+    private static final LocalDate END = PERIOD.atEndOfMonth();
+
+    @Mock
+    private RewardService rewardService;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @TempDir
+    Path outputDir;
+
+    private void givenSixCustomers() {
+        when(transactionRepository.getCustomerIds()).thenReturn(List.of("C1", "C2", "C3", "C4", "C5", "C6"));
+        when(transactionRepository.getCustomerById(anyString()))
+                .thenAnswer(invocation -> Optional.of(new Customer(invocation.getArgument(0), "Name, "
+                        + invocation.getArgument(0), "mail")));
+    }
+
+    @Test
+    void testWritesOneStatementLinePerCustomer() throws Exception {
+        givenSixCustomers();
+        when(rewardService.getCustomerRewards(anyString(), any(), any())).thenAnswer(invocation -> summary(120L, 2));
+        when(rewardService.getCustomerRewards("C4", START, END))
+                .thenThrow(new MissingRewardDataException("Missing reward data for month: 2025-03"));
+        when(rewardService.getCustomerRewards("C5", START, END))
+                .thenThrow(new DataValidationException("Transaction amount cannot be negative"));
+
+        StatementJobStatus status = job(2).run(PERIOD);
+
+        assertEquals(StatementJobStatus.State.COMPLETED, status.getState());
+        assertEquals(6, status.getProcessedCustomers());
+        assertEquals(3, status.getCompletedPartitions());
+        Path periodDir = outputDir.resolve("2025-03");
+        List<String> lines = Files.readAllLines(periodDir.resolve("statements-2025-03.csv"));
+        assertEquals(7, lines.size());
+        assertEquals("customerId,customerName,period,totalPoints,transactionCount,status", lines.get(0));
+        assertEquals("C1,\"Name, C1\",2025-03,120,2,OK", lines.get(1));
+        assertEquals("C4,\"Name, C4\",2025-03,0,0,NO_ACTIVITY", lines.get(4));
+        assertEquals("C5,\"Name, C5\",2025-03,0,0,ERROR: Transaction amount cannot be negative", lines.get(5));
+        try (var files = Files.list(periodDir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void testRestartResumesFromCheckpoint() throws Exception {
+        givenSixCustomers();
+        when(rewardService.getCustomerRewards(anyString(), any(), any())).thenAnswer(invocation -> summary(10L, 1));
+        when(rewardService.getCustomerRewards("C5", START, END)).thenThrow(new IllegalStateException("store down"));
+
+        StatementJobStatus failed = job(1).run(PERIOD);
+
+        assertEquals(StatementJobStatus.State.FAILED, failed.getState());
+        assertTrue(Files.exists(outputDir.resolve("2025-03").resolve("checkpoint")));
+        assertFalse(Files.exists(outputDir.resolve("2025-03").resolve("statements-2025-03.csv")));
+
+        doReturn(summary(10L, 1)).when(rewardService).getCustomerRewards("C5", START, END);
+        StatementJobStatus resumed = job(1).run(PERIOD);
+
+        assertEquals(StatementJobStatus.State.COMPLETED, resumed.getState());
+        assertEquals(failed.getCompletedPartitions(), resumed.getResumedPartitions());
+        assertEquals(6, resumed.getProcessedCustomers());
+        List<String> lines = Files.readAllLines(outputDir.resolve("2025-03").resolve("statements-2025-03.csv"));
+        assertEquals(7, lines.size());
+        assertFalse(Files.exists(outputDir.resolve("2025-03").resolve("checkpoint")));
+    }
+
+    @Test
+    void testCompletedPeriodIsNotRecomputed() throws Exception {
+        Path periodDir = Files.createDirectories(outputDir.resolve("2025-03"));
+        Files.writeString(periodDir.resolve("statements-2025-03.csv"), "done\n");
+
+        StatementJobStatus status = job(2).run(PERIOD);
+
+        assertEquals(StatementJobStatus.State.COMPLETED, status.getState());
+        verify(rewardService, never()).getCustomerRewards(anyString(), any(), any());
+    }
+
+    @Test
+    void testCurrentAndFutureMonthsAreRejected() {
+        StatementJob job = job(2);
+
+        assertThrows(DataValidationException.class, () -> job.run(YearMonth.now()));
+        assertThrows(DataValidationException.class, () -> job.start(YearMonth.now().plusMonths(1)));
+        assertFalse(Files.exists(outputDir.resolve(YearMonth.now().toString())));
+        verify(transactionRepository, never()).getCustomerIds();
+    }
+
+    @Test
+    void testSecondStartIsRefusedBeforeTheFirstRunBegins() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(transactionRepository.getCustomerIds()).thenAnswer(invocation -> {
+            release.await();
+            return List.of();
+        });
+        StatementJob job = job(2);
+        try {
+            assertTrue(job.start(PERIOD));
+            assertFalse(job.start(PERIOD));
+
+            release.countDown();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (job.getStatus().getState() != StatementJobStatus.State.COMPLETED && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(StatementJobStatus.State.COMPLETED, job.getStatus().getState());
+            verify(transactionRepository).getCustomerIds();
+        } finally {
+            job.shutdown();
+        }
+    }
+
+    @Test
+    void testEveryInterruptedPeriodIsResumedAndStrayDirectoriesAreIgnored() throws Exception {
+        when(transactionRepository.getCustomerIds()).thenReturn(List.of());
+        for (String name : List.of("2025-01", "2025-02", "backup")) {
+            Files.createDirectories(outputDir.resolve(name));
+            Files.writeString(outputDir.resolve(name).resolve("checkpoint"), "customers=1 partitionSize=1\n");
+        }
+        StatementJob job = job(2);
+        try {
+            job.resumeInterruptedRuns();
+
+            Path second = outputDir.resolve("2025-02").resolve("statements-2025-02.csv");
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (!Files.exists(second) && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(Files.exists(outputDir.resolve("2025-01").resolve("statements-2025-01.csv")));
+            assertTrue(Files.exists(second));
+            assertTrue(Files.exists(outputDir.resolve("backup").resolve("checkpoint")));
+        } finally {
+            job.shutdown();
+        }
+    }
+
+    private StatementJob job(int partitionSize) {
+        return new StatementJob(rewardService, transactionRepository, outputDir.toString(), partitionSize, 2,
+                new SimpleMeterRegistry());
+    }
+
+    private static RewardSummary summary(long totalPoints, int transactionCount) {
+        List<RewardTransactionPoints> transactions = Collections.nCopies(transactionCount,
+                new RewardTransactionPoints());
+        return new RewardSummary("C", "Name", "mail", Map.of("2025-03", totalPoints), totalPoints, transactions);
+    }
+}
@@ -0,0 +1,120 @@
+package com.offer.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.offer.dto.CampaignBonus;
+import com.offer.dto.RewardSummary;
+import com.offer.dto.RewardTransactionPoints;
+
+class RewardSummaryJsonWriterTest {
+
+    // Spring Boot's response mapper: ISO dates instead of timestamps
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+    @Test
+    void testMatchesJacksonForTypicalSummary() throws Exception {
+        Map<String, Long> perMonth = new LinkedHashMap<>();
+        perMonth.put("2025-01", 90L);
+        perMonth.put("2025-02", 25L);
+        Map<String, Long> perCategory = new TreeMap<>(Map.of("grocery", 90L, "fuel", 25L));
+        RewardTransactionPoints grocery = new RewardTransactionPoints("T1", LocalDate.of(2025, 1, 10), 120.0, 90);
+        grocery.setCategory("grocery");
+        grocery.setCampaigns(List.of(new CampaignBonus("C1", "Double grocery", 2.0, 90),
+                new CampaignBonus("C2", "Spring", 1.25, 22)));
+        RewardTransactionPoints fuel = new RewardTransactionPoints("T2", LocalDate.of(2025, 2, 5), 75.5, 25);
+        fuel.setCategory("fuel");
+        RewardSummary summary = new RewardSummary("1", "Neelima Sivaiahgari", "neelima@gmail.com", perMonth, 115L,
+                List.of(grocery, fuel));
+        summary.setPointsPerCategory(perCategory);
+
+        assertSameBytes(summary, 8192);
+    }
+
+    @Test
+    void testMatchesJacksonForNullsAndEscapes() throws Exception {
+        RewardTransactionPoints odd = new RewardTransactionPoints("quote\"back\\slash", null, 0.0, 0);
+        odd.setCategory("tab\tnew\nline\u0001\u001f\u007f");
+        odd.setCampaigns(null);
+        List<RewardTransactionPoints> transactions = new ArrayList<>();
+        transactions.add(odd);
+        transactions.add(null);
+        RewardSummary summary = new RewardSummary("\u00fc-\u00e9-\u20ac-\ud83d\ude00", null, "</script>", new LinkedHashMap<>(),
+                null, transactions);
+
+        assertSameBytes(summary, 8192);
+        assertSameBytes(new RewardSummary(), 8192);
+    }
+
+    @Test
+    void testMatchesJacksonForAmountsAndDates() throws Exception {
+        Random random = new Random(42);
+        List<RewardTransactionPoints> transactions = new ArrayList<>();
+        double[] edges = { 0.01, 0.1, 0.05, 9_999_999.99, 1e7, 12_345_678.9, 0.001, 1.0 / 3, 1e-5, Double.MAX_VALUE,
+                Double.NaN, Double.POSITIVE_INFINITY, -0.0, -12.5 };
+        for (double amount : edges) {
+            transactions.add(new RewardTransactionPoints("E", LocalDate.of(2025, 6, 30), amount, -1));
+        }
+        for (int i = 0; i < 2_000; i++) {
+            double amount = random.nextInt(i % 2 == 0 ? 100_000 : Integer.MAX_VALUE) / 100.0;
+            LocalDate date = LocalDate.ofEpochDay(random.nextInt(3_000_000) - 719_528);
+            transactions.add(new RewardTransactionPoints("T" + i, date, amount, random.nextLong()));
+        }
+        transactions.add(new RewardTransactionPoints("MIN", LocalDate.MIN, 1.5, Long.MIN_VALUE));
+        transactions.add(new RewardTransactionPoints("MAX", LocalDate.MAX, 1.5, Long.MAX_VALUE));
+        RewardSummary summary = new RewardSummary("1", "Name", "mail", null, Long.MAX_VALUE, transactions);
+
+        assertSameBytes(summary, 8192);
+    }
+
+    @Test
+    void testSmallBufferFlushesMidDocumentAndIsReused() throws Exception {
+        List<RewardTransactionPoints> transactions = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            RewardTransactionPoints transaction = new RewardTransactionPoints("T" + i, LocalDate.of(2025, 3, 1),
+                    100.0 + i, i);
+            transaction.setCategory("\u00e9lectronique\u0000");
+            transactions.add(transaction);
+        }
+        RewardSummary summary = new RewardSummary("1", "Name", "mail", Map.of("2025-03", 1L), 1L, transactions);
+        RewardSummaryJsonWriter writer = new RewardSummaryJsonWriter(64, 1);
+
+        writer.write(summary, new ByteArrayOutputStream());
+        assertArrayEquals(objectMapper.writeValueAsBytes(summary), write(writer, summary));
+        assertEquals(1, writer.idleBuffers());
+    }
+
+    @Test
+    void testRejectsInvalidSizing() {
+        assertThrows(IllegalArgumentException.class, () -> new RewardSummaryJsonWriter(16, 4));
+        assertThrows(IllegalArgumentException.class, () -> new RewardSummaryJsonWriter(8192, 0));
+    }
+
+    private void assertSameBytes(RewardSummary summary, int bufferSize) throws Exception {
+        byte[] expected = objectMapper.writeValueAsBytes(summary);
+        byte[] actual = write(new RewardSummaryJsonWriter(bufferSize, 4), summary);
+        assertEquals(new String(expected, StandardCharsets.UTF_8), new String(actual, StandardCharsets.UTF_8));
+        assertArrayEquals(expected, actual);
+    }
+
+    private static byte[] write(RewardSummaryJsonWriter writer, RewardSummary summary) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(summary, out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,50 @@
+package com.offer.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.offer.model.Transaction;
+
+class HotTransactionsTest {
+
+    @Test
+    void testInOrderInsertsAreAppendedInPlace() {
+        HotTransactions rows = new HotTransactions();
+        for (int day = 1; day <= 5; day++) {
+            rows.add(new Transaction("T" + day, "C1", 10, LocalDate.of(2024, 3, day)));
+        }
+        Transaction[] before = rows.sorted();
+
+        rows.add(new Transaction("T6", "C1", 10, LocalDate.of(2024, 3, 6)));
+
+        assertSame(before, rows.sorted());
+        assertEquals(List.of("T1", "T2", "T3", "T4", "T5", "T6"), ids(rows));
+    }
+
+    @Test
+    void testLateInsertIsSortedOnReadWithoutTouchingEarlierSnapshot() {
+        HotTransactions rows = new HotTransactions();
+        rows.add(new Transaction("A", "C1", 10, LocalDate.of(2024, 3, 5)));
+        rows.add(new Transaction("B", "C1", 10, LocalDate.of(2024, 3, 9)));
+        Transaction[] snapshot = rows.sorted();
+        int snapshotSize = rows.size();
+
+        rows.add(new Transaction("C", "C1", 10, LocalDate.of(2024, 3, 5)));
+        rows.add(new Transaction("D", "C1", 10, LocalDate.of(2024, 3, 1)));
+
+        // same-date rows keep their arrival order
+        assertEquals(List.of("D", "A", "C", "B"), ids(rows));
+        assertNotSame(snapshot, rows.sorted());
+        assertEquals(List.of("A", "B"),
+                Arrays.stream(snapshot, 0, snapshotSize).map(Transaction::getId).toList());
+    }
+
+    private static List<String> ids(HotTransactions rows) {
+        return Arrays.stream(rows.sorted(), 0, rows.size()).map(Transaction::getId).toList();
+    }
+}
@@ -0,0 +1,69 @@
+package com.offer.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.offer.AllocationMeter;
+import com.offer.model.Transaction;
+
+/*
+ * Allocation budgets for range queries, in bytes per returned transaction. The fixed
+ * per-call overhead is amortised over a large dataset, so a budget overrun means garbage
+ * is being created per row.
+ */
+class InMemoryTransactionRepositoryAllocationTest {
+
+    private static final int TRANSACTIONS = 20_000;
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END = LocalDate.of(2024, 12, 31);
+
+    /* Result list growth and the sort; rows are returned by reference */
+    private static final long HOT_BYTES_PER_TRANSACTION = 32;
+    /* Sealed rows are decoded into new Transaction, LocalDate and id String objects */
+    private static final long SEALED_BYTES_PER_TRANSACTION = 192;
+
+    private InMemoryTransactionRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryTransactionRepository(1_000);
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            repository.addTransaction(new Transaction("C1", 10 + i % 200, START.plusDays(i % 366)));
+            repository.addTransaction(new Transaction("C2", 10 + i % 200, START.plusDays(i % 366)));
+        }
+    }
+
+    @Test
+    void testHotTierQueryStaysWithinAllocationBudget() {
+        assertWithinBudget(HOT_BYTES_PER_TRANSACTION);
+    }
+
+    @Test
+    void testSealedTierQueryStaysWithinAllocationBudget() {
+        repository.sealMonthsBefore(YearMonth.of(2025, 1));
+        assertWithinBudget(SEALED_BYTES_PER_TRANSACTION);
+    }
+
+    private void assertWithinBudget(long budgetPerTransaction) {
+        AllocationMeter meter = AllocationMeter.create();
+        assertEquals(TRANSACTIONS, repository.getTransactionsForCustomerId("C1", START, END).size());
+
+        long bytes = meter.bytesPerCall(() -> consume(repository.getTransactionsForCustomerId("C1", START, END)));
+
+        long perTransaction = bytes / TRANSACTIONS;
+        assertTrue(perTransaction <= budgetPerTransaction, "allocated " + perTransaction
+                + " bytes per transaction, budget is " + budgetPerTransaction);
+    }
+
+    private static void consume(List<Transaction> result) {
+        if (result.isEmpty()) {
+            throw new AssertionError("empty result");
+        }
+    }
+}
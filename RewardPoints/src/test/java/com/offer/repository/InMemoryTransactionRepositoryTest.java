@@ -0,0 +1,274 @@
+package com.offer.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.offer.model.Transaction;
+
+class InMemoryTransactionRepositoryTest {
+
+    private InMemoryTransactionRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryTransactionRepository(3);
+    }
+
+    @Test
+    void testSealedTransactionsAreDecodedWithOriginalValues() {
+        Transaction jan = new Transaction("C1", 120.45, LocalDate.of(2024, 1, 10));
+        Transaction janLater = new Transaction("C1", 0.99, LocalDate.of(2024, 1, 31));
+        Transaction feb = new Transaction("C1", 75.0, LocalDate.of(2024, 2, 5));
+        repository.addTransaction(feb);
+        repository.addTransaction(janLater);
+        repository.addTransaction(jan);
+
+        repository.sealMonthsBefore(YearMonth.of(2024, 3));
+
+        List<Transaction> result = repository.getTransactionsForCustomerId("C1",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 29));
+
+        assertEquals(3, result.size());
+        assertEquals(jan.getId(), result.get(0).getId());
+        assertEquals(120.45, result.get(0).getAmount());
+        assertEquals(LocalDate.of(2024, 1, 10), result.get(0).getDate());
+        assertEquals("C1", result.get(0).getCustomerId());
+        assertEquals(janLater.getId(), result.get(1).getId());
+        assertEquals(0.99, result.get(1).getAmount());
+        assertEquals(feb.getId(), result.get(2).getId());
+    }
+
+    @Test
+    void testQueryCombinesSealedAndHotTiers() {
+        repository.addTransaction(new Transaction("C1", 60.0, LocalDate.of(2024, 1, 15)));
+        repository.addTransaction(new Transaction("C1", 80.0, LocalDate.of(2024, 3, 1)));
+        repository.addTransaction(new Transaction("C2", 90.0, LocalDate.of(2024, 1, 20)));
+
+        repository.sealMonthsBefore(YearMonth.of(2024, 2));
+
+        List<Transaction> result = repository.getTransactionsForCustomerId("C1",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31));
+
+        assertEquals(2, result.size());
+        assertEquals(LocalDate.of(2024, 1, 15), result.get(0).getDate());
+        assertEquals(LocalDate.of(2024, 3, 1), result.get(1).getDate());
+    }
+
+    @Test
+    void testRangeIsAppliedInsideSealedBlock() {
+        repository.addTransaction(new Transaction("C1", 60.0, LocalDate.of(2024, 1, 5)));
+        repository.addTransaction(new Transaction("C1", 70.0, LocalDate.of(2024, 1, 15)));
+        repository.addTransaction(new Transaction("C1", 80.0, LocalDate.of(2024, 1, 25)));
+
+        repository.sealMonthsBefore(YearMonth.of(2024, 2));
+
+        List<Transaction> result = repository.getTransactionsForCustomerId("C1",
+                LocalDate.of(2024, 1, 10), LocalDate.of(2024, 1, 20));
+
+        assertEquals(1, result.size());
+        assertEquals(70.0, result.get(0).getAmount());
+    }
+
+    @Test
+    void testLateTransactionIsMergedIntoExistingBlock() {
+        repository.addTransaction(new Transaction("C1", 60.0, LocalDate.of(2024, 1, 20)));
+        repository.sealMonthsBefore(YearMonth.of(2024, 2));
+
+        Transaction late = new Transaction("C1", 70.0, LocalDate.of(2024, 1, 2));
+        repository.addTransaction(late);
+        repository.sealMonthsBefore(YearMonth.of(2024, 2));
+
+        List<Transaction> result = repository.getTransactionsForCustomerId("C1",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+
+        assertEquals(2, result.size());
+        assertEquals(late.getId(), result.get(0).getId());
+    }
+
+    @Test
+    void testNonUuidIdsSurviveSealing() {
+        repository.addTransaction(new Transaction("POS-42", "C1", 55.5, LocalDate.of(2024, 1, 3)));
+        repository.sealMonthsBefore(YearMonth.of(2024, 2));
+
+        List<Transaction> result = repository.getTransactionsForCustomerId("C1",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+
+        assertEquals("POS-42", result.get(0).getId());
+        assertEquals(55.5, result.get(0).getAmount());
+    }
+
+    @Test
+    void testCategoryFilterSpansHotAndSealedTiers() {
+        repository.addTransaction(new Transaction("C1", 60.0, LocalDate.of(2024, 1, 5), "Grocery"));
+        repository.addTransaction(new Transaction("C1", 70.0, LocalDate.of(2024, 1, 9), "travel"));
+        repository.addTransaction(new Transaction("C2", 80.0, LocalDate.of(2024, 1, 9), "fuel"));
+        repository.sealMonthsBefore(YearMonth.of(2024, 2));
+        repository.addTransaction(new Transaction("C1", 90.0, LocalDate.of(2024, 3, 2), "fuel"));
+        repository.addTransaction(new Transaction("C1", 95.0, LocalDate.of(2024, 3, 3), "travel"));
+        repository.addTransaction(new Transaction("C1", 99.0, LocalDate.of(2024, 4, 1), "fuel"));
+
+        List<Transaction> result = repository.getTransactionsForCustomerId("C1",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31), Set.of("grocery", "fuel"));
+
+        assertEquals(List.of(60.0, 90.0), result.stream().map(Transaction::getAmount).toList());
+        assertEquals("grocery", result.get(0).getCategory());
+        assertEquals("fuel", result.get(1).getCategory());
+        assertEquals(4, repository.getTransactionsForCustomerId("C1",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31)).size());
+        assertTrue(repository.getTransactionsForCustomerId("C1",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31), Set.of("dining")).isEmpty());
+    }
+
+    @Test
+    void testHotQueriesHonourDaysWithinAMonth() {
+        repository.addTransaction(new Transaction("C1", 60.0, LocalDate.of(2024, 3, 20), "fuel"));
+        repository.addTransaction(new Transaction("C1", 70.0, LocalDate.of(2024, 3, 2), "fuel"));
+        repository.addTransaction(new Transaction("C1", 80.0, LocalDate.of(2024, 3, 10), "grocery"));
+        repository.addTransaction(new Transaction("C2", 90.0, LocalDate.of(2024, 3, 10), "fuel"));
+
+        assertEquals(List.of(70.0, 80.0), repository.getTransactionsForCustomerId("C1",
+                LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 10)).stream().map(Transaction::getAmount).toList());
+        assertEquals(List.of(60.0), repository.getTransactionsForCustomerId("C1",
+                LocalDate.of(2024, 3, 11), LocalDate.of(2024, 3, 31), Set.of("fuel")).stream()
+                .map(Transaction::getAmount).toList());
+    }
+
+    @Test
+    void testSealedCategoryFilterHonoursDaysWithinAMonth() {
+        repository.addTransaction(new Transaction("C1", 10.0, LocalDate.of(2024, 1, 2), "fuel"));
+        repository.addTransaction(new Transaction("C1", 20.0, LocalDate.of(2024, 1, 12), "grocery"));
+        repository.addTransaction(new Transaction("C1", 30.0, LocalDate.of(2024, 1, 15), "fuel"));
+        repository.addTransaction(new Transaction("C1", 40.0, LocalDate.of(2024, 1, 15), "travel"));
+        repository.addTransaction(new Transaction("C1", 50.0, LocalDate.of(2024, 1, 31), "fuel"));
+        repository.addTransaction(new Transaction("C1", 60.0, LocalDate.of(2024, 2, 10), "fuel"));
+        repository.addTransaction(new Transaction("C1", 70.0, LocalDate.of(2024, 2, 20), "fuel"));
+        repository.sealMonthsBefore(YearMonth.of(2024, 3));
+
+        assertEquals(List.of(20.0, 30.0), repository.getTransactionsForCustomerId("C1",
+                LocalDate.of(2024, 1, 10), LocalDate.of(2024, 1, 30), Set.of("fuel", "grocery")).stream()
+                .map(Transaction::getAmount).toList());
+        assertEquals(List.of(30.0, 50.0, 60.0), repository.getTransactionsForCustomerId("C1",
+                LocalDate.of(2024, 1, 13), LocalDate.of(2024, 2, 15), Set.of("fuel")).stream()
+                .map(Transaction::getAmount).toList());
+        assertTrue(repository.getTransactionsForCustomerId("C1",
+                LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29), Set.of("travel")).isEmpty());
+        assertEquals(7, repository.getTransactionsForCustomerId("C1",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 29)).size());
+    }
+
+    @Test
+    void testHotIndexIsRebuiltAfterSealing() {
+        repository.addTransaction(new Transaction("C1", 10.0, LocalDate.of(2024, 1, 5), "fuel"));
+        repository.addTransaction(new Transaction("C1", 20.0, LocalDate.of(2024, 2, 5), "fuel"));
+        repository.sealMonthsBefore(YearMonth.of(2024, 2));
+        repository.addTransaction(new Transaction("C1", 30.0, LocalDate.of(2024, 2, 6), "fuel"));
+
+        List<Transaction> result = repository.getTransactionsForCustomerId("C1",
+                LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29), Set.of("fuel"));
+
+        assertEquals(List.of(20.0, 30.0), result.stream().map(Transaction::getAmount).toList());
+    }
+
+    @Test
+    void testStreamMergesSealedAndLateHotRowsInDateOrder() {
+        repository.addTransaction(new Transaction("C1", 10.0, LocalDate.of(2024, 1, 20)));
+        repository.addTransaction(new Transaction("C1", 20.0, LocalDate.of(2024, 2, 10)));
+        repository.sealMonthsBefore(YearMonth.of(2024, 2));
+        // arrives after January was sealed and stays hot until the next seal
+        repository.addTransaction(new Transaction("C1", 30.0, LocalDate.of(2024, 1, 5)));
+        repository.addTransaction(new Transaction("C1", 40.0, LocalDate.of(2024, 1, 20)));
+        repository.addTransaction(new Transaction("C1", 50.0, LocalDate.of(2024, 2, 1)));
+
+        try (Stream<Transaction> stream = repository.streamTransactionsForCustomerId("C1",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 29))) {
+            assertEquals(List.of(30.0, 10.0, 40.0, 50.0, 20.0),
+                    stream.map(Transaction::getAmount).toList());
+        }
+    }
+
+    @Test
+    void testStreamClampsOpenRangeToStoredData() {
+        repository.addTransaction(new Transaction("C1", 10.0, LocalDate.of(2023, 11, 3)));
+        repository.addTransaction(new Transaction("C1", 20.0, LocalDate.of(2024, 4, 1)));
+        repository.sealMonthsBefore(YearMonth.of(2024, 1));
+
+        try (Stream<Transaction> stream = repository.streamTransactionsForCustomerId("C1",
+                LocalDate.MIN, LocalDate.MAX)) {
+            assertEquals(List.of(10.0, 20.0), stream.map(Transaction::getAmount).toList());
+        }
+        assertEquals(0, repository.streamTransactionsForCustomerId("C9", LocalDate.MIN, LocalDate.MAX).count());
+    }
+
+    @Test
+    void testParallelStreamSplitsByMonthWithoutChangingResult() {
+        for (int month = 1; month <= 12; month++) {
+            for (int day = 1; day <= 28; day += 9) {
+                repository.addTransaction(new Transaction("C1", month * 100 + day, LocalDate.of(2023, month, day)));
+            }
+        }
+        repository.sealMonthsBefore(YearMonth.of(2023, 7));
+
+        LocalDate start = LocalDate.of(2023, 2, 15);
+        LocalDate end = LocalDate.of(2023, 11, 15);
+        List<Double> sequential = repository.streamTransactionsForCustomerId("C1", start, end)
+                .map(Transaction::getAmount).toList();
+        List<Double> parallel = repository.streamTransactionsForCustomerId("C1", start, end).parallel()
+                .map(Transaction::getAmount).collect(Collectors.toList());
+
+        assertEquals(sequential, parallel);
+        assertEquals(repository.getTransactionsForCustomerId("C1", start, end).size(), sequential.size());
+        assertEquals(219.0, sequential.get(0));
+        assertEquals(1110.0, sequential.get(sequential.size() - 1));
+    }
+
+    @Test
+    void testIdempotencyKeyLookupSurvivesSealing() {
+        Transaction keyed = new Transaction("C1", 60.0, LocalDate.of(2024, 1, 15));
+        keyed.setIdempotencyKey("receipt-1");
+        repository.addTransaction(keyed);
+        repository.sealMonthsBefore(YearMonth.of(2024, 2));
+
+        Transaction found = repository.findByIdempotencyKey("C1", "receipt-1").orElseThrow();
+        assertEquals(keyed.getId(), found.getId());
+        assertEquals("receipt-1", found.getIdempotencyKey());
+        assertEquals(60.0, found.getAmount());
+        assertTrue(repository.findByIdempotencyKey("C2", "receipt-1").isEmpty());
+    }
+
+    @Test
+    void testIdempotencyKeysAreListedPerCustomer() {
+        Transaction hot = new Transaction("C1", 60.0, LocalDate.of(2024, 2, 15));
+        hot.setIdempotencyKey("receipt-1");
+        Transaction other = new Transaction("C2", 60.0, LocalDate.of(2024, 1, 15));
+        other.setIdempotencyKey("receipt-1");
+        repository.addTransaction(hot);
+        repository.addTransaction(other);
+        repository.sealMonthsBefore(YearMonth.of(2024, 2));
+
+        Set<String> keys = new HashSet<>();
+        repository.forEachIdempotencyKey((customerId, key) -> keys.add(customerId + "/" + key));
+
+        assertEquals(Set.of("C1/receipt-1", "C2/receipt-1"), keys);
+        assertEquals(hot.getId(), repository.findByIdempotencyKey("C1", "receipt-1").orElseThrow().getId());
+        assertEquals(other.getId(), repository.findByIdempotencyKey("C2", "receipt-1").orElseThrow().getId());
+    }
+
+    @Test
+    void testSubCentAmountIsRefusedInsteadOfRoundedWhenSealed() {
+        assertThrows(IllegalArgumentException.class,
+                () -> repository.addTransaction(new Transaction("C1", 100.004, LocalDate.of(2024, 1, 15))));
+
+        assertTrue(repository.getTransactionsForCustomerId("C1", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31))
+                .isEmpty());
+    }
+}
@@ -0,0 +1,127 @@
+package com.offer.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.offer.model.Transaction;
+
+class JdbcTransactionRepositoryTest {
+
+    private JdbcTransactionRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        repository = new JdbcTransactionRepository(dataSource, 2, 100);
+        repository.init();
+    }
+
+    @Test
+    void testInitLoadsSampleDataOnce() {
+        repository.init();
+
+        assertEquals(List.of("1", "2"), repository.getCustomerIds());
+        assertEquals("Sekhar", repository.getCustomerById("2").orElseThrow().getName());
+        assertTrue(repository.getCustomerById("99").isEmpty());
+        assertEquals(3, repository.getTransactionsForCustomerId("1", LocalDate.MIN, LocalDate.MAX).size());
+    }
+
+    @Test
+    void testRangeQueriesAreDateOrderedAndFilteredByCategory() {
+        repository.addTransactions(List.of(
+                new Transaction("T3", "C1", 80.0, LocalDate.of(2024, 3, 1), "fuel"),
+                new Transaction("T1", "C1", 60.0, LocalDate.of(2024, 1, 15), "Grocery"),
+                new Transaction("T2", "C1", 70.0, LocalDate.of(2024, 1, 15), "travel"),
+                new Transaction("T4", "C2", 90.0, LocalDate.of(2024, 1, 20), "fuel"),
+                new Transaction("T5", "C1", 99.0, LocalDate.of(2024, 4, 1), "fuel")));
+
+        try (Stream<Transaction> stream = repository.streamTransactionsForCustomerId("C1",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31))) {
+            assertEquals(List.of("T1", "T2", "T3"), stream.map(Transaction::getId).toList());
+        }
+
+        List<Transaction> filtered = repository.getTransactionsForCustomerId("C1",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31), Set.of("GROCERY", "fuel"));
+        assertEquals(List.of("T1", "T3"), filtered.stream().map(Transaction::getId).toList());
+        assertEquals("grocery", filtered.get(0).getCategory());
+        assertEquals(60.0, filtered.get(0).getAmount());
+        assertEquals(LocalDate.of(2024, 1, 15), filtered.get(0).getDate());
+    }
+
+    @Test
+    void testMonthlyPointsMatchTheCalculatorPerTransaction() {
+        double[] amounts = { 0.99, 50.0, 50.01, 75.5, 100.0, 100.5, 120.45, 200.0, 333.33 };
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < amounts.length; i++) {
+            transactions.add(new Transaction("C1", amounts[i], LocalDate.of(2024, 1 + i % 3, 1 + i)));
+        }
+        repository.addTransactions(transactions);
+
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        LocalDate end = LocalDate.of(2024, 3, 31);
+        List<MonthlyPoints> pushedDown = repository.getMonthlyPoints("C1", start, end);
+
+        // the in-memory store aggregates the same rows in Java
+        InMemoryTransactionRepository inMemory = new InMemoryTransactionRepository(1_000);
+        inMemory.addTransactions(transactions);
+        assertEquals(inMemory.getMonthlyPoints("C1", start, end), pushedDown);
+        assertEquals(List.of(YearMonth.of(2024, 1), YearMonth.of(2024, 2), YearMonth.of(2024, 3)),
+                pushedDown.stream().map(MonthlyPoints::month).toList());
+        assertEquals(9, pushedDown.stream().mapToInt(MonthlyPoints::transactionCount).sum());
+    }
+
+    @Test
+    void testForEachTransactionVisitsEveryRow() {
+        repository.addTransaction(new Transaction("C3", 55.0, LocalDate.of(2024, 5, 5)));
+
+        List<String> customerIds = new ArrayList<>();
+        repository.forEachTransaction(transaction -> customerIds.add(transaction.getCustomerId()));
+
+        assertEquals(6, customerIds.size());
+        assertTrue(customerIds.contains("C3"));
+    }
+
+    @Test
+    void testIdempotencyKeysAreUniquePerCustomer() {
+        Transaction keyed = new Transaction("T1", "C1", 60.0, LocalDate.of(2024, 1, 15), "fuel");
+        keyed.setIdempotencyKey("receipt-1");
+        Transaction otherCustomer = new Transaction("T2", "C2", 60.0, LocalDate.of(2024, 1, 15), "fuel");
+        otherCustomer.setIdempotencyKey("receipt-1");
+        repository.addTransactions(List.of(keyed, otherCustomer));
+
+        assertEquals("T1", repository.findByIdempotencyKey("C1", "receipt-1").orElseThrow().getId());
+        assertTrue(repository.findByIdempotencyKey("C1", "receipt-2").isEmpty());
+        List<String> keys = new ArrayList<>();
+        repository.forEachIdempotencyKey((customerId, key) -> keys.add(customerId + "/" + key));
+        assertEquals(Set.of("C1/receipt-1", "C2/receipt-1"), Set.copyOf(keys));
+
+        Transaction retry = new Transaction("T3", "C1", 60.0, LocalDate.of(2024, 1, 15), "fuel");
+        retry.setIdempotencyKey("receipt-1");
+        assertThrows(DataIntegrityViolationException.class, () -> repository.addTransaction(retry));
+    }
+
+    @Test
+    void testSubCentAmountIsRefusedLikeTheInMemoryStore() {
+        assertThrows(IllegalArgumentException.class,
+                () -> repository.addTransaction(new Transaction("T9", "C1", 100.004, LocalDate.of(2024, 1, 15))));
+        assertThrows(IllegalArgumentException.class, () -> repository.addTransactions(List.of(
+                new Transaction("T10", "C1", 10.0, LocalDate.of(2024, 1, 15)),
+                new Transaction("T11", "C1", 0.001, LocalDate.of(2024, 1, 16)))));
+
+        assertTrue(repository.getTransactionsForCustomerId("C1", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31))
+                .isEmpty());
+    }
+}
@@ -0,0 +1,133 @@
+package com.offer.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.offer.dto.CampaignBonus;
+import com.offer.model.Campaign;
+
+class CampaignIndexTest {
+
+    @Test
+    void testBonusesRespectInclusiveWindowBoundaries() {
+        Campaign march = campaign("march", "2024-03-01", "2024-03-31");
+        Campaign midMarch = campaign("mid-march", "2024-03-10", "2024-03-20");
+        CampaignIndex index = CampaignIndex.build(List.of(march, midMarch));
+
+        assertEquals(List.of(), activeIds(index, "C1", "2024-02-29"));
+        assertEquals(List.of("march"), activeIds(index, "C1", "2024-03-01"));
+        assertEquals(List.of("march", "mid-march"), activeIds(index, "C1", "2024-03-10"));
+        assertEquals(List.of("march", "mid-march"), activeIds(index, "C1", "2024-03-20"));
+        assertEquals(List.of("march"), activeIds(index, "C1", "2024-03-21"));
+        assertEquals(List.of(), activeIds(index, "C1", "2024-04-01"));
+        assertEquals(20, index.bonusPoints("C1", LocalDate.parse("2024-03-15"), 10));
+        assertTrue(index.appliesBetween("C1", LocalDate.parse("2024-02-01"), LocalDate.parse("2024-03-01")));
+        assertFalse(index.appliesBetween("C1", LocalDate.parse("2024-04-01"), LocalDate.parse("2024-04-30")));
+    }
+
+    @Test
+    void testBonusesHonourCustomerSegment() {
+        Campaign everyone = campaign("everyone", "2024-01-01", "2024-12-31");
+        Campaign vip = new Campaign("vip", "vip", LocalDate.parse("2024-01-01"), LocalDate.parse("2024-12-31"), 3,
+                Set.of("C1"));
+        CampaignIndex index = CampaignIndex.build(List.of(everyone, vip));
+
+        List<CampaignBonus> c1 = index.bonusesFor("C1", LocalDate.parse("2024-06-01"), 10);
+        List<CampaignBonus> c2 = index.bonusesFor("C2", LocalDate.parse("2024-06-01"), 10);
+
+        assertEquals(List.of(10L, 20L), c1.stream().map(CampaignBonus::getBonusPoints).toList());
+        assertEquals(List.of("everyone"), c2.stream().map(CampaignBonus::getCampaignId).toList());
+        assertTrue(index.bonusesFor("C1", LocalDate.parse("2025-01-01"), 10).isEmpty());
+    }
+
+    @Test
+    void testLookupMatchesLinearScanWithThousandsOfCampaigns() {
+        Random random = new Random(42);
+        LocalDate origin = LocalDate.of(2020, 1, 1);
+        List<Campaign> campaigns = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            LocalDate start = origin.plusDays(random.nextInt(1_500));
+            campaigns.add(new Campaign("c" + i, "c" + i, start, start.plusDays(random.nextInt(60)), 2, Set.of()));
+        }
+        CampaignIndex index = CampaignIndex.build(campaigns);
+
+        for (int day = -5; day < 1_600; day += 7) {
+            LocalDate date = origin.plusDays(day);
+            Set<String> expected = campaigns.stream()
+                    .filter(c -> !date.isBefore(c.getStartDate()) && !date.isAfter(c.getEndDate()))
+                    .map(Campaign::getId).collect(Collectors.toSet());
+            Set<String> actual = index.bonusesFor("C1", date, 10).stream().map(CampaignBonus::getCampaignId)
+                    .collect(Collectors.toSet());
+            assertEquals(expected, actual, "campaigns active on " + date);
+        }
+    }
+
+    @Test
+    void testSegmentLookupsMatchLinearScan() {
+        Random random = new Random(7);
+        LocalDate origin = LocalDate.of(2020, 1, 1);
+        List<Campaign> campaigns = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            LocalDate start = origin.plusDays(random.nextInt(1_500));
+            Set<String> segment = random.nextInt(4) == 0 ? Set.of()
+                    : new HashSet<>(List.of("C" + random.nextInt(20), "C" + random.nextInt(20)));
+            campaigns.add(new Campaign("c" + i, "c" + i, start, start.plusDays(random.nextInt(90)),
+                    1 + random.nextInt(3), segment));
+        }
+        CampaignIndex index = CampaignIndex.build(campaigns);
+
+        for (int probe = 0; probe < 500; probe++) {
+            String customerId = "C" + random.nextInt(22);
+            LocalDate date = origin.plusDays(random.nextInt(1_620) - 10);
+            LocalDate until = date.plusDays(random.nextInt(30));
+            List<Campaign> applying = campaigns.stream().filter(c -> c.getCustomerIds().isEmpty()
+                    || c.getCustomerIds().contains(customerId)).toList();
+            List<Long> expected = applying.stream()
+                    .filter(c -> !date.isBefore(c.getStartDate()) && !date.isAfter(c.getEndDate()))
+                    .sorted(Comparator.comparing(Campaign::getStartDate))
+                    .map(c -> (long) (100 * (c.getMultiplier() - 1))).toList();
+            boolean overlapping = applying.stream()
+                    .anyMatch(c -> !until.isBefore(c.getStartDate()) && !date.isAfter(c.getEndDate()));
+
+            List<CampaignBonus> bonuses = index.bonusesFor(customerId, date, 100);
+            assertEquals(expected, bonuses.stream().map(CampaignBonus::getBonusPoints).toList());
+            assertEquals(expected.stream().mapToLong(Long::longValue).sum(), index.bonusPoints(customerId, date, 100));
+            assertEquals(overlapping, index.appliesBetween(customerId, date, until));
+        }
+    }
+
+    @Test
+    void testCampaignsForOtherCustomersAreNotVisited() {
+        List<Campaign> campaigns = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            campaigns.add(new Campaign("c" + i, "c" + i, LocalDate.parse("2024-01-01"), LocalDate.parse("2024-12-31"),
+                    2, Set.of("OTHER" + i)));
+        }
+        CampaignIndex index = CampaignIndex.build(campaigns);
+
+        assertSame(index.bonusesFor("C1", LocalDate.parse("2024-06-01"), 10),
+                index.bonusesFor("C2", LocalDate.parse("2024-06-01"), 10));
+        assertEquals(0, index.bonusPoints("C1", LocalDate.parse("2024-06-01"), 10));
+        assertFalse(index.appliesBetween("C1", LocalDate.parse("2024-01-01"), LocalDate.parse("2024-12-31")));
+        assertEquals(List.of("c7"), activeIds(index, "OTHER7", "2024-06-01"));
+    }
+
+    private static List<String> activeIds(CampaignIndex index, String customerId, String date) {
+        return index.bonusesFor(customerId, LocalDate.parse(date), 10).stream().map(CampaignBonus::getCampaignId)
+                .toList();
+    }
+
+    private static Campaign campaign(String id, String start, String end) {
+        return new Campaign(id, id, LocalDate.parse(start), LocalDate.parse(end), 2, Set.of());
+    }
+}
@@ -0,0 +1,101 @@
+package com.offer.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.offer.model.Transaction;
+import com.offer.repository.TransactionRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class PointsLedgerTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    private PointsLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        ledger = new PointsLedger(transactionRepository, new CampaignService(), 12, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testEarnedPointsExpireTwelveMonthsLater() {
+        LocalDate today = LocalDate.of(2024, 6, 1);
+        ledger.earn("C1", 90, LocalDate.of(2024, 1, 10), today);
+        ledger.earn("C1", 30, LocalDate.of(2024, 2, 5), today);
+        ledger.earn("C2", 10, LocalDate.of(2024, 1, 10), today);
+
+        assertEquals(120, ledger.getBalance("C1"));
+        assertEquals(10, ledger.getBalance("C2"));
+
+        assertEquals(0, ledger.expireDue(LocalDate.of(2025, 1, 9)));
+        assertEquals(100, ledger.expireDue(LocalDate.of(2025, 1, 10)));
+
+        assertEquals(30, ledger.getBalance("C1"));
+        assertEquals(0, ledger.getBalance("C2"));
+        assertEquals(1, ledger.getPendingLots());
+    }
+
+    @Test
+    void testSweepOnlyRemovesDueLots() {
+        LocalDate today = LocalDate.of(2024, 6, 1);
+        for (int day = 1; day <= 28; day++) {
+            ledger.earn("C1", 1, LocalDate.of(2024, 2, day), today);
+        }
+
+        ledger.expireDue(LocalDate.of(2025, 2, 14));
+
+        assertEquals(14, ledger.getPendingLots());
+        assertEquals(14, ledger.getBalance("C1"));
+    }
+
+    @Test
+    void testAlreadyExpiredAndZeroPointLotsAreIgnored() {
+        LocalDate today = LocalDate.of(2024, 6, 1);
+        ledger.earn("C1", 90, LocalDate.of(2023, 5, 31), today);
+        ledger.earn("C1", 0, LocalDate.of(2024, 5, 31), today);
+
+        assertEquals(0, ledger.getBalance("C1"));
+        assertEquals(0, ledger.getPendingLots());
+        assertEquals(0, ledger.getBalance("unknown"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testLoadRebuildsBalancesFromHistory() {
+        LocalDate recent = LocalDate.now().minusMonths(1);
+        doAnswer(invocation -> {
+            Consumer<Transaction> action = invocation.getArgument(0);
+            action.accept(new Transaction("C1", 120, recent)); // 90 points
+            action.accept(new Transaction("C1", 200, LocalDate.now().minusMonths(13))); // expired
+            return null;
+        }).when(transactionRepository).forEachTransaction(any(Consumer.class));
+
+        ledger.load();
+
+        assertEquals(90, ledger.getBalance("C1"));
+    }
+
+    @Test
+    void testIngestedTransactionIsCredited() {
+        Transaction transaction = new Transaction("C1", 120, LocalDate.now());
+
+        ledger.onPointsEarned(new PointsEarnedEvent(transaction, 90, YearMonth.now(), 0, 90, 90));
+
+        assertEquals(90, ledger.getBalance("C1"));
+    }
+}
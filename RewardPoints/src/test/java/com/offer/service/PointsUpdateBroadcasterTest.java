@@ -0,0 +1,65 @@
+package com.offer.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.offer.model.Transaction;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PointsUpdateBroadcasterTest {
+
+    private PointsUpdateBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new PointsUpdateBroadcaster(60_000, 1, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void testSubscribersAreCountedPerStream() {
+        broadcaster.subscribe("C1");
+        broadcaster.subscribe("C1");
+        broadcaster.subscribe("C2");
+
+        assertEquals(3, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void testFailedSendDropsOnlyThatSubscriber() throws Exception {
+        SseEmitter closed = broadcaster.subscribe("C1");
+        broadcaster.subscribe("C1");
+        broadcaster.subscribe("C2");
+        closed.complete();
+
+        Transaction transaction = new Transaction("C1", 120, LocalDate.of(2024, 1, 10));
+        broadcaster.onPointsEarned(new PointsEarnedEvent(transaction, 90, YearMonth.of(2024, 1), 0, 90, 90));
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (broadcaster.getSubscriberCount() != 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(2, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void testEventWithoutSubscribersIsIgnored() {
+        Transaction transaction = new Transaction("C3", 120, LocalDate.of(2024, 1, 10));
+
+        assertDoesNotThrow(() -> broadcaster.onPointsEarned(
+                new PointsEarnedEvent(transaction, 90, YearMonth.of(2024, 1), 0, 90, 90)));
+        assertEquals(0, broadcaster.getSubscriberCount());
+    }
+}
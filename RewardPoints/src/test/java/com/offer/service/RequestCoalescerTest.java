@@ -0,0 +1,120 @@
+package com.offer.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.offer.exception.CustomerNotFoundException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RequestCoalescerTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private Counter coalesced;
+    private RequestCoalescer<String, String> coalescer;
+
+    @BeforeEach
+    void setUp() {
+        coalesced = Counter.builder("test.coalesced").register(new SimpleMeterRegistry());
+        coalescer = new RequestCoalescer<>(coalesced);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testConcurrentIdenticalCallsShareOneComputation() throws Exception {
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> coalescer.execute("C1", () -> {
+            computations.incrementAndGet();
+            await(release);
+            return "summary";
+        }));
+        waitUntilInFlight();
+
+        List<Future<String>> followers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            followers.add(executor.submit(() -> coalescer.execute("C1", () -> {
+                computations.incrementAndGet();
+                return "recomputed";
+            })));
+        }
+        waitUntil(() -> coalesced.count() == 5);
+        release.countDown();
+
+        assertEquals("summary", leader.get(5, TimeUnit.SECONDS));
+        for (Future<String> follower : followers) {
+            assertEquals("summary", follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, computations.get());
+        assertEquals(5, coalesced.count());
+        assertEquals(0, coalescer.getInFlightCount());
+    }
+
+    @Test
+    void testFailureIsPropagatedToWaitingCallers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> coalescer.execute("C1", () -> {
+            await(release);
+            throw new CustomerNotFoundException("Customer not found : C1");
+        }));
+        waitUntilInFlight();
+        Future<String> follower = executor.submit(() -> coalescer.execute("C1", () -> "unused"));
+        waitUntil(() -> coalesced.count() == 1);
+        release.countDown();
+
+        ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        ExecutionException followerFailure = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(CustomerNotFoundException.class, leaderFailure.getCause());
+        assertInstanceOf(CustomerNotFoundException.class, followerFailure.getCause());
+    }
+
+    @Test
+    void testSequentialAndDistinctCallsAreNotCoalesced() {
+        assertEquals("a", coalescer.execute("C1", () -> "a"));
+        assertEquals("b", coalescer.execute("C1", () -> "b"));
+        assertEquals("c", coalescer.execute("C2", () -> "c"));
+
+        assertEquals(0, coalesced.count());
+    }
+
+    private void waitUntilInFlight() throws InterruptedException {
+        waitUntil(() -> coalescer.getInFlightCount() == 1);
+    }
+
+    private void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.offer.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.offer.AllocationMeter;
+import com.offer.dto.CampaignRequest;
+import com.offer.dto.Granularity;
+import com.offer.dto.RewardSummary;
+import com.offer.model.Transaction;
+import com.offer.repository.InMemoryTransactionRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+ * Allocation budget for getCustomerRewards, in bytes per transaction in the range. Each row
+ * legitimately costs one RewardTransactionPoints plus list slots; per-row bucket keys,
+ * YearMonth instances or boxed points push it over the budget. Campaigns targeting another
+ * customer segment are active throughout, so the campaign lookup is part of the measurement.
+ */
+class RewardServiceAllocationTest {
+
+    private static final int TRANSACTIONS = 20_000;
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END = LocalDate.of(2024, 12, 31);
+    private static final long BYTES_PER_TRANSACTION = 96;
+
+    private RewardServiceImpl rewardService;
+
+    @BeforeEach
+    void setUp() {
+        InMemoryTransactionRepository repository = new InMemoryTransactionRepository(1_000);
+        repository.init();
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            repository.addTransaction(new Transaction("1", 10 + i % 200, START.plusDays(i % 366)));
+        }
+        CampaignService campaignService = new CampaignService();
+        for (int month = 1; month <= 12; month++) {
+            campaignService.addCampaign(new CampaignRequest("segment " + month, LocalDate.of(2024, month, 1),
+                    LocalDate.of(2024, month, 20), 2, Set.of("2")));
+        }
+        rewardService = new RewardServiceImpl(repository, campaignService, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testMonthlySummaryStaysWithinAllocationBudget() {
+        assertWithinBudget(Granularity.MONTH);
+    }
+
+    @Test
+    void testDailySummaryStaysWithinAllocationBudget() {
+        assertWithinBudget(Granularity.DAY);
+    }
+
+    private void assertWithinBudget(Granularity granularity) {
+        AllocationMeter meter = AllocationMeter.create();
+        RewardSummary summary = rewardService.getCustomerRewards("1", START, END, granularity);
+        assertEquals(TRANSACTIONS, summary.getTransactions().size());
+
+        long bytes = meter.bytesPerCall(() -> rewardService.getCustomerRewards("1", START, END, granularity));
+
+        long perTransaction = bytes / TRANSACTIONS;
+        assertTrue(perTransaction <= BYTES_PER_TRANSACTION, granularity + " summary allocated " + perTransaction
+                + " bytes per transaction, budget is " + BYTES_PER_TRANSACTION);
+    }
+}
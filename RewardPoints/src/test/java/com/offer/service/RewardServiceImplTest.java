@@ -1,318 +1,574 @@
-package com.offer.service;
-
-import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
-
-import java.time.LocalDate;
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
-
-import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
-
-import com.offer.dto.RewardSummary;
-import com.offer.exception.CustomerNotFoundException;
-import com.offer.exception.DataValidationException;
-import com.offer.model.Customer;
-import com.offer.model.Transaction;
-import com.offer.repository.TransactionRepository;
-
-@ExtendWith(MockitoExtension.class)
-class RewardServiceImplTest {
-
-    @Mock
-    private TransactionRepository transactionRepository;
-
-    @InjectMocks
-    private RewardServiceImpl rewardService;
-
-    private Customer customer;
-    private Transaction txnJan;
-    private Transaction txnFeb;
-    private Transaction txnMar;
-
-    @BeforeEach
-    void setUp() {
-        customer = new Customer();
-        customer.setId("C1");
-        customer.setName("John");
-        customer.setEmail("john@test.com");
-
-        // January transaction
-        txnJan = new Transaction();
-        txnJan.setId("T1");
-        txnJan.setAmount(120); // 90 points
-        txnJan.setDate(LocalDate.of(2024, 1, 10));
-
-        // February transaction
-        txnFeb = new Transaction();
-        txnFeb.setId("T2");
-        txnFeb.setAmount(80); // 30 points
-        txnFeb.setDate(LocalDate.of(2024, 2, 5));
-
-        // March transaction
-        txnMar = new Transaction();
-        txnMar.setId("T3");
-        txnMar.setAmount(60); // 10 points
-        txnMar.setDate(LocalDate.of(2024, 3, 1));
-    }
-
-    // Helper method to calculate points dynamically
-    private long calculatePoints(double amount) {
-        long points = 0;
-        if (amount > 100)
-            points += (amount - 100) * 2;
-        if (amount > 50)
-            points += Math.min(amount, 100) - 50;
-        return points;
-    }
-
-    @Test
-    void testGetCustomerRewards_Success() {
-
-        when(transactionRepository.getCustomerById("C1"))
-                .thenReturn(Optional.of(customer));
-
-        when(transactionRepository.getTransactionsForCustomerId(
-                anyString(), any(), any()))
-                .thenReturn(List.of(txnJan, txnFeb, txnMar));
-
-        RewardSummary summary = rewardService.getCustomerRewards(
-                "C1",
-                LocalDate.of(2024, 1, 1),
-                LocalDate.of(2024, 3, 31)
-        );
-
-        assertNotNull(summary);
-        assertEquals("C1", summary.getCustomerId());
-        assertEquals("John", summary.getCustomerName());
-
-        long expectedTotal =
-                calculatePoints(txnJan.getAmount()) +
-                calculatePoints(txnFeb.getAmount()) +
-                calculatePoints(txnMar.getAmount());
-
-        assertEquals(expectedTotal, summary.getTotalPoints());
-
-        Map<String, Long> monthly = summary.getPointsPerMonth();
-        assertTrue(monthly.containsKey("2024-01"));
-        assertTrue(monthly.containsKey("2024-02"));
-        assertTrue(monthly.containsKey("2024-03"));
-
-        verify(transactionRepository).getCustomerById("C1");
-        verify(transactionRepository).getTransactionsForCustomerId(any(), any(), any());
-    }
-
-    @Test
-    void testGetCustomerRewards_CustomerNotFound() {
-
-        when(transactionRepository.getCustomerById("C99"))
-                .thenReturn(Optional.empty());
-
-        assertThrows(CustomerNotFoundException.class, () ->
-                rewardService.getCustomerRewards(
-                        "C99",
-                        LocalDate.of(2024, 1, 1),
-                        LocalDate.of(2024, 3, 31)
-                )
-        );
-    }
-
-    @Test
-    void testGetCustomerRewards_NullCustomerId() {
-
-        assertThrows(CustomerNotFoundException.class, () ->
-                rewardService.getCustomerRewards(
-                        null,
-                        LocalDate.of(2024, 1, 1),
-                        LocalDate.of(2024, 3, 31)
-                )
-        );
-    }
-
-    @Test
-    void testGetCustomerRewards_BlankCustomerId() {
-
-        assertThrows(CustomerNotFoundException.class, () ->
-                rewardService.getCustomerRewards(
-                        "   ",
-                        LocalDate.of(2024, 1, 1),
-                        LocalDate.of(2024, 3, 31)
-                )
-        );
-    }
-
-    @Test
-    void testGetCustomerRewards_InvalidDateRange() {
-
-        assertThrows(DataValidationException.class, () ->
-                rewardService.getCustomerRewards(
-                        "C1",
-                        LocalDate.of(2024, 5, 1),
-                        LocalDate.of(2024, 1, 1)
-                )
-        );
-    }
-
-    @Test
-    void testGetCustomerRewards_FutureDate() {
-
-        assertThrows(DataValidationException.class, () ->
-                rewardService.getCustomerRewards(
-                        "C1",
-                        LocalDate.now().plusDays(1),
-                        LocalDate.now().plusDays(5)
-                )
-        );
-    }
-
-    @Test
-    void testGetCustomerRewards_NegativeTransactionAmount() {
-
-        txnJan.setAmount(-10);
-
-        when(transactionRepository.getCustomerById("C1"))
-                .thenReturn(Optional.of(customer));
-
-        when(transactionRepository.getTransactionsForCustomerId(
-                anyString(), any(), any()))
-                .thenReturn(List.of(txnJan));
-
-        assertThrows(DataValidationException.class, () ->
-                rewardService.getCustomerRewards(
-                        "C1",
-                        LocalDate.of(2024, 1, 1),
-                        LocalDate.of(2024, 2, 29)
-                )
-        );
-    }
-
-    @Test
-    void testMonthFormatIsYYYY_MM() {
-
-        when(transactionRepository.getCustomerById("C1"))
-                .thenReturn(Optional.of(customer));
-
-        when(transactionRepository.getTransactionsForCustomerId(
-                anyString(), any(), any()))
-                .thenReturn(List.of(txnJan, txnFeb));
-
-        RewardSummary summary = rewardService.getCustomerRewards(
-                "C1",
-                LocalDate.of(2024, 1, 1),
-                LocalDate.of(2024, 2, 29)
-        );
-
-        // Validate keys are in YYYY-MM format
-        assertTrue(summary.getPointsPerMonth().containsKey("2024-01"));
-        assertTrue(summary.getPointsPerMonth().containsKey("2024-02"));
-    }
-    
-    @Test
-    void testGetCustomerRewards_EmptyTransactions() {
-
-        when(transactionRepository.getCustomerById("C1"))
-                .thenReturn(Optional.of(customer));
-
-        // Empty list returned
-        when(transactionRepository.getTransactionsForCustomerId(
-                anyString(), any(), any()))
-                .thenReturn(List.of(
-                        // We still need a dummy transaction for each month in range for Rule 4
-                        new Transaction() {{
-                            setId("Tdummy1");
-                            setAmount(0);
-                            setDate(LocalDate.of(2024, 1, 1));
-                        }},
-                        new Transaction() {{
-                            setId("Tdummy2");
-                            setAmount(0);
-                            setDate(LocalDate.of(2024, 2, 1));
-                        }}
-                ));
-
-        RewardSummary summary = rewardService.getCustomerRewards(
-                "C1",
-                LocalDate.of(2024, 1, 1),
-                LocalDate.of(2024, 2, 29)
-        );
-
-        assertNotNull(summary);
-        assertEquals(0, summary.getTotalPoints());
-        assertEquals(0, summary.getPointsPerMonth().get("2024-01"));
-        assertEquals(0, summary.getPointsPerMonth().get("2024-02"));
-    }
-    
-    @Test
-    void testGetCustomerRewards_BoundaryAmounts() {
-
-        Transaction txn50 = new Transaction();
-        txn50.setId("T50");
-        txn50.setAmount(50); // boundary → 0 points
-        txn50.setDate(LocalDate.of(2024, 1, 10));
-
-        Transaction txn100 = new Transaction();
-        txn100.setId("T100");
-        txn100.setAmount(100); // boundary → 50 points (50–100)
-        txn100.setDate(LocalDate.of(2024, 2, 10));
-
-        when(transactionRepository.getCustomerById("C1"))
-                .thenReturn(Optional.of(customer));
-
-        when(transactionRepository.getTransactionsForCustomerId(
-                anyString(), any(), any()))
-                .thenReturn(List.of(txn50, txn100));
-
-        RewardSummary summary = rewardService.getCustomerRewards(
-                "C1",
-                LocalDate.of(2024, 1, 1),
-                LocalDate.of(2024, 2, 29)
-        );
-
-        assertEquals(0, summary.getPointsPerMonth().get("2024-01")); // 50 → 0 points
-        assertEquals(50, summary.getPointsPerMonth().get("2024-02")); // 100 → 50 points
-
-        assertEquals(50, summary.getTotalPoints());
-    }
-
-    @Test
-    void testGetCustomerRewards_ZeroAmountTransaction() {
-
-        Transaction txn0 = new Transaction();
-        txn0.setId("T0");
-        txn0.setAmount(0);
-        txn0.setDate(LocalDate.of(2024, 1, 15));
-
-        Transaction txnDummyFeb = new Transaction();
-        txnDummyFeb.setId("Tdummy");
-        txnDummyFeb.setAmount(0);
-        txnDummyFeb.setDate(LocalDate.of(2024, 2, 1));
-
-        when(transactionRepository.getCustomerById("C1"))
-                .thenReturn(Optional.of(customer));
-
-        when(transactionRepository.getTransactionsForCustomerId(
-                anyString(), any(), any()))
-                .thenReturn(List.of(txn0, txnDummyFeb));
-
-        RewardSummary summary = rewardService.getCustomerRewards(
-                "C1",
-                LocalDate.of(2024, 1, 1),
-                LocalDate.of(2024, 2, 29)
-        );
-
-        assertEquals(0, summary.getTotalPoints());
-        assertEquals(0, summary.getPointsPerMonth().get("2024-01"));
-        assertEquals(0, summary.getPointsPerMonth().get("2024-02"));
-    }
-
-
-}
+package com.offer.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.offer.dto.CampaignRequest;
+import com.offer.dto.Granularity;
+import com.offer.dto.RewardSummary;
+import com.offer.dto.RewardTransactionPoints;
+import com.offer.dto.RollingRewardSummary;
+import com.offer.dto.RollingWindowPoints;
+import com.offer.exception.CustomerNotFoundException;
+import com.offer.exception.DataValidationException;
+import com.offer.model.Customer;
+import com.offer.model.Transaction;
+import com.offer.repository.MonthlyPoints;
+import com.offer.repository.TransactionRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class RewardServiceImplTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    private CampaignService campaignService;
+
+    private RewardServiceImpl rewardService;
+
+    private Customer customer;
+    private Transaction txnJan;
+    private Transaction txnFeb;
+    private Transaction txnMar;
+
+    @BeforeEach
+    void setUp() {
+        campaignService = new CampaignService();
+        rewardService = new RewardServiceImpl(transactionRepository, campaignService, new SimpleMeterRegistry());
+
+        customer = new Customer();
+        customer.setId("C1");
+        customer.setName("John");
+        customer.setEmail("john@test.com");
+
+        // January transaction
+        txnJan = new Transaction();
+        txnJan.setId("T1");
+        txnJan.setAmount(120); // 90 points
+        txnJan.setDate(LocalDate.of(2024, 1, 10));
+
+        // February transaction
+        txnFeb = new Transaction();
+        txnFeb.setId("T2");
+        txnFeb.setAmount(80); // 30 points
+        txnFeb.setDate(LocalDate.of(2024, 2, 5));
+
+        // March transaction
+        txnMar = new Transaction();
+        txnMar.setId("T3");
+        txnMar.setAmount(60); // 10 points
+        txnMar.setDate(LocalDate.of(2024, 3, 1));
+    }
+
+    // Helper method to calculate points dynamically
+    private long calculatePoints(double amount) {
+        long points = 0;
+        if (amount > 100)
+            points += (amount - 100) * 2;
+        if (amount > 50)
+            points += Math.min(amount, 100) - 50;
+        return points;
+    }
+
+    @Test
+    void testGetCustomerRewards_Success() {
+
+        when(transactionRepository.getCustomerById("C1"))
+                .thenReturn(Optional.of(customer));
+
+        when(transactionRepository.streamTransactionsForCustomerId(
+                anyString(), any(), any()))
+                .thenAnswer(invocation -> Stream.of(txnJan, txnFeb, txnMar));
+
+        RewardSummary summary = rewardService.getCustomerRewards(
+                "C1",
+                LocalDate.of(2024, 1, 1),
+                LocalDate.of(2024, 3, 31)
+        );
+
+        assertNotNull(summary);
+        assertEquals("C1", summary.getCustomerId());
+        assertEquals("John", summary.getCustomerName());
+
+        long expectedTotal =
+                calculatePoints(txnJan.getAmount()) +
+                calculatePoints(txnFeb.getAmount()) +
+                calculatePoints(txnMar.getAmount());
+
+        assertEquals(expectedTotal, summary.getTotalPoints());
+
+        Map<String, Long> monthly = summary.getPointsPerMonth();
+        assertTrue(monthly.containsKey("2024-01"));
+        assertTrue(monthly.containsKey("2024-02"));
+        assertTrue(monthly.containsKey("2024-03"));
+
+        verify(transactionRepository).getCustomerById("C1");
+        verify(transactionRepository).streamTransactionsForCustomerId(any(), any(), any());
+    }
+
+    @Test
+    void testGetCustomerRewards_CustomerNotFound() {
+
+        when(transactionRepository.getCustomerById("C99"))
+                .thenReturn(Optional.empty());
+
+        assertThrows(CustomerNotFoundException.class, () ->
+                rewardService.getCustomerRewards(
+                        "C99",
+                        LocalDate.of(2024, 1, 1),
+                        LocalDate.of(2024, 3, 31)
+                )
+        );
+    }
+
+    @Test
+    void testGetCustomerRewards_NullCustomerId() {
+
+        assertThrows(CustomerNotFoundException.class, () ->
+                rewardService.getCustomerRewards(
+                        null,
+                        LocalDate.of(2024, 1, 1),
+                        LocalDate.of(2024, 3, 31)
+                )
+        );
+    }
+
+    @Test
+    void testGetCustomerRewards_BlankCustomerId() {
+
+        assertThrows(CustomerNotFoundException.class, () ->
+                rewardService.getCustomerRewards(
+                        "   ",
+                        LocalDate.of(2024, 1, 1),
+                        LocalDate.of(2024, 3, 31)
+                )
+        );
+    }
+
+    @Test
+    void testGetCustomerRewards_InvalidDateRange() {
+
+        assertThrows(DataValidationException.class, () ->
+                rewardService.getCustomerRewards(
+                        "C1",
+                        LocalDate.of(2024, 5, 1),
+                        LocalDate.of(2024, 1, 1)
+                )
+        );
+    }
+
+    @Test
+    void testGetCustomerRewards_FutureDate() {
+
+        assertThrows(DataValidationException.class, () ->
+                rewardService.getCustomerRewards(
+                        "C1",
+                        LocalDate.now().plusDays(1),
+                        LocalDate.now().plusDays(5)
+                )
+        );
+    }
+
+    @Test
+    void testGetCustomerRewards_NegativeTransactionAmount() {
+
+        txnJan.setAmount(-10);
+
+        when(transactionRepository.getCustomerById("C1"))
+                .thenReturn(Optional.of(customer));
+
+        when(transactionRepository.streamTransactionsForCustomerId(
+                anyString(), any(), any()))
+                .thenAnswer(invocation -> Stream.of(txnJan));
+
+        assertThrows(DataValidationException.class, () ->
+                rewardService.getCustomerRewards(
+                        "C1",
+                        LocalDate.of(2024, 1, 1),
+                        LocalDate.of(2024, 2, 29)
+                )
+        );
+    }
+
+    @Test
+    void testMonthFormatIsYYYY_MM() {
+
+        when(transactionRepository.getCustomerById("C1"))
+                .thenReturn(Optional.of(customer));
+
+        when(transactionRepository.streamTransactionsForCustomerId(
+                anyString(), any(), any()))
+                .thenAnswer(invocation -> Stream.of(txnJan, txnFeb));
+
+        RewardSummary summary = rewardService.getCustomerRewards(
+                "C1",
+                LocalDate.of(2024, 1, 1),
+                LocalDate.of(2024, 2, 29)
+        );
+
+        // Validate keys are in YYYY-MM format
+        assertTrue(summary.getPointsPerMonth().containsKey("2024-01"));
+        assertTrue(summary.getPointsPerMonth().containsKey("2024-02"));
+    }
+    
+    @Test
+    void testGetCustomerRewards_EmptyTransactions() {
+
+        when(transactionRepository.getCustomerById("C1"))
+                .thenReturn(Optional.of(customer));
+
+        // Empty list returned
+        when(transactionRepository.streamTransactionsForCustomerId(
+                anyString(), any(), any()))
+                .thenAnswer(invocation -> Stream.of(
+                        // We still need a dummy transaction for each month in range for Rule 4
+                        new Transaction() {{
+                            setId("Tdummy1");
+                            setAmount(0);
+                            setDate(LocalDate.of(2024, 1, 1));
+                        }},
+                        new Transaction() {{
+                            setId("Tdummy2");
+                            setAmount(0);
+                            setDate(LocalDate.of(2024, 2, 1));
+                        }}
+                ));
+
+        RewardSummary summary = rewardService.getCustomerRewards(
+                "C1",
+                LocalDate.of(2024, 1, 1),
+                LocalDate.of(2024, 2, 29)
+        );
+
+        assertNotNull(summary);
+        assertEquals(0, summary.getTotalPoints());
+        assertEquals(0, summary.getPointsPerMonth().get("2024-01"));
+        assertEquals(0, summary.getPointsPerMonth().get("2024-02"));
+    }
+    
+    @Test
+    void testGetCustomerRewards_BoundaryAmounts() {
+
+        Transaction txn50 = new Transaction();
+        txn50.setId("T50");
+        txn50.setAmount(50); // boundary → 0 points
+        txn50.setDate(LocalDate.of(2024, 1, 10));
+
+        Transaction txn100 = new Transaction();
+        txn100.setId("T100");
+        txn100.setAmount(100); // boundary → 50 points (50–100)
+        txn100.setDate(LocalDate.of(2024, 2, 10));
+
+        when(transactionRepository.getCustomerById("C1"))
+                .thenReturn(Optional.of(customer));
+
+        when(transactionRepository.streamTransactionsForCustomerId(
+                anyString(), any(), any()))
+                .thenAnswer(invocation -> Stream.of(txn50, txn100));
+
+        RewardSummary summary = rewardService.getCustomerRewards(
+                "C1",
+                LocalDate.of(2024, 1, 1),
+                LocalDate.of(2024, 2, 29)
+        );
+
+        assertEquals(0, summary.getPointsPerMonth().get("2024-01")); // 50 → 0 points
+        assertEquals(50, summary.getPointsPerMonth().get("2024-02")); // 100 → 50 points
+
+        assertEquals(50, summary.getTotalPoints());
+    }
+
+    @Test
+    void testGetCustomerRewards_ZeroAmountTransaction() {
+
+        Transaction txn0 = new Transaction();
+        txn0.setId("T0");
+        txn0.setAmount(0);
+        txn0.setDate(LocalDate.of(2024, 1, 15));
+
+        Transaction txnDummyFeb = new Transaction();
+        txnDummyFeb.setId("Tdummy");
+        txnDummyFeb.setAmount(0);
+        txnDummyFeb.setDate(LocalDate.of(2024, 2, 1));
+
+        when(transactionRepository.getCustomerById("C1"))
+                .thenReturn(Optional.of(customer));
+
+        when(transactionRepository.streamTransactionsForCustomerId(
+                anyString(), any(), any()))
+                .thenAnswer(invocation -> Stream.of(txn0, txnDummyFeb));
+
+        RewardSummary summary = rewardService.getCustomerRewards(
+                "C1",
+                LocalDate.of(2024, 1, 1),
+                LocalDate.of(2024, 2, 29)
+        );
+
+        assertEquals(0, summary.getTotalPoints());
+        assertEquals(0, summary.getPointsPerMonth().get("2024-01"));
+        assertEquals(0, summary.getPointsPerMonth().get("2024-02"));
+    }
+
+    @Test
+    void testGetCustomerRewards_WeeklyGranularity() {
+
+        Transaction txnMon = new Transaction();
+        txnMon.setAmount(120); // 90 points
+        txnMon.setDate(LocalDate.of(2024, 1, 8)); // Monday of 2024-W02
+
+        Transaction txnSun = new Transaction();
+        txnSun.setAmount(60); // 10 points
+        txnSun.setDate(LocalDate.of(2024, 1, 14)); // Sunday of 2024-W02
+
+        Transaction txnFeb = new Transaction();
+        txnFeb.setAmount(80); // 30 points
+        txnFeb.setDate(LocalDate.of(2024, 2, 1)); // 2024-W05
+
+        when(transactionRepository.getCustomerById("C1"))
+                .thenReturn(Optional.of(customer));
+
+        when(transactionRepository.streamTransactionsForCustomerId(
+                anyString(), any(), any()))
+                .thenAnswer(invocation -> Stream.of(txnMon, txnSun, txnFeb));
+
+        RewardSummary summary = rewardService.getCustomerRewards(
+                "C1",
+                LocalDate.of(2024, 1, 1),
+                LocalDate.of(2024, 2, 29),
+                Granularity.WEEK
+        );
+
+        assertEquals(List.of("2024-W02", "2024-W05"), List.copyOf(summary.getPointsPerMonth().keySet()));
+        assertEquals(100, summary.getPointsPerMonth().get("2024-W02"));
+        assertEquals(30, summary.getPointsPerMonth().get("2024-W05"));
+        assertEquals(130, summary.getTotalPoints());
+    }
+
+    @Test
+    void testGetCustomerRewards_QuarterAndYearGranularity() {
+
+        when(transactionRepository.getCustomerById("C1"))
+                .thenReturn(Optional.of(customer));
+
+        when(transactionRepository.streamTransactionsForCustomerId(
+                anyString(), any(), any()))
+                .thenAnswer(invocation -> Stream.of(txnJan, txnFeb, txnMar));
+
+        RewardSummary quarterly = rewardService.getCustomerRewards(
+                "C1", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31), Granularity.QUARTER);
+        assertEquals(Map.of("2024-Q1", 130L), quarterly.getPointsPerMonth());
+
+        RewardSummary yearly = rewardService.getCustomerRewards(
+                "C1", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31), Granularity.YEAR);
+        assertEquals(Map.of("2024", 130L), yearly.getPointsPerMonth());
+    }
+
+    @Test
+    void testGetCustomerRewards_DailyGranularityKeepsMonthCoverageRule() {
+
+        when(transactionRepository.getCustomerById("C1"))
+                .thenReturn(Optional.of(customer));
+
+        when(transactionRepository.streamTransactionsForCustomerId(
+                anyString(), any(), any()))
+                .thenAnswer(invocation -> Stream.of(txnJan, txnMar));
+
+        DataValidationException ex = assertThrows(DataValidationException.class, () ->
+                rewardService.getCustomerRewards(
+                        "C1", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31), Granularity.DAY));
+        assertTrue(ex.getMessage().contains("2024-02"));
+    }
+
+    @Test
+    void testGetCustomerRewards_OverlappingCampaignsStack() {
+
+        when(transactionRepository.getCustomerById("C1"))
+                .thenReturn(Optional.of(customer));
+
+        when(transactionRepository.streamTransactionsForCustomerId(
+                anyString(), any(), any()))
+                .thenAnswer(invocation -> Stream.of(txnJan, txnFeb, txnMar));
+
+        campaignService.addCampaign(new CampaignRequest("Double January",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 15), 2.0, null));
+        campaignService.addCampaign(new CampaignRequest("Loyal customers",
+                LocalDate.of(2024, 1, 5), LocalDate.of(2024, 2, 10), 1.5, Set.of("C1")));
+        campaignService.addCampaign(new CampaignRequest("Other segment",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31), 3.0, Set.of("C2")));
+
+        RewardSummary summary = rewardService.getCustomerRewards(
+                "C1", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31));
+
+        // Jan: 90 + 90 (x2) + 45 (x1.5), Feb: 30 + 15 (x1.5), Mar: 10
+        assertEquals(Map.of("2024-01", 225L, "2024-02", 45L, "2024-03", 10L), summary.getPointsPerMonth());
+        assertEquals(280L, summary.getTotalPoints());
+
+        RewardTransactionPoints jan = summary.getTransactions().get(0);
+        assertEquals(225, jan.getPoints());
+        assertEquals(2, jan.getCampaigns().size());
+        assertEquals("Double January", jan.getCampaigns().get(0).getName());
+        assertEquals(90, jan.getCampaigns().get(0).getBonusPoints());
+        assertEquals(45, jan.getCampaigns().get(1).getBonusPoints());
+        assertTrue(summary.getTransactions().get(2).getCampaigns().isEmpty());
+    }
+
+    @Test
+    void testGetCustomerRewards_CategoryFilterRollsUpPerCategory() {
+
+        when(transactionRepository.getCustomerById("C1"))
+                .thenReturn(Optional.of(customer));
+
+        txnJan.setCategory("Grocery");
+        txnMar.setCategory("fuel");
+        when(transactionRepository.getTransactionsForCustomerId(
+                eq("C1"), any(), any(), eq(Set.of("grocery", "fuel"))))
+                .thenReturn(List.of(txnJan, txnMar));
+
+        RewardSummary summary = rewardService.getCustomerRewards(
+                "C1", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31), Granularity.MONTH,
+                Set.of("GROCERY", "fuel"));
+
+        // February has no grocery or fuel purchases, which is not an error for a filtered query
+        assertEquals(Map.of("2024-01", 90L, "2024-03", 10L), summary.getPointsPerMonth());
+        assertEquals(Map.of("grocery", 90L, "fuel", 10L), summary.getPointsPerCategory());
+        assertEquals(100L, summary.getTotalPoints());
+        assertEquals("grocery", summary.getTransactions().get(0).getCategory());
+    }
+
+    @Test
+    void testGetRollingRewards_SlidesOverSparseMonths() {
+
+        when(transactionRepository.getCustomerById("C1"))
+                .thenReturn(Optional.of(customer));
+
+        // no campaign applies, so the monthly sums come from the store
+        when(transactionRepository.getMonthlyPoints(
+                anyString(), any(), any()))
+                .thenReturn(List.of(new MonthlyPoints(YearMonth.of(2024, 1), 90, 1),
+                        new MonthlyPoints(YearMonth.of(2024, 2), 30, 1),
+                        new MonthlyPoints(YearMonth.of(2024, 3), 10, 1)));
+
+        RollingRewardSummary rolling = rewardService.getRollingRewards(
+                "C1", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 6, 30), 3, 1);
+
+        assertEquals(List.of(130L, 40L, 10L, 0L),
+                rolling.getWindows().stream().map(RollingWindowPoints::getPoints).toList());
+        assertEquals(LocalDate.of(2024, 2, 1), rolling.getWindows().get(1).getStartDate());
+        assertEquals(LocalDate.of(2024, 4, 30), rolling.getWindows().get(1).getEndDate());
+        assertEquals(3, rolling.getWindows().get(0).getTransactionCount());
+        verify(transactionRepository, never()).streamTransactionsForCustomerId(any(), any(), any());
+
+        RollingRewardSummary stepped = rewardService.getRollingRewards(
+                "C1", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 6, 30), 2, 2);
+        assertEquals(List.of(120L, 10L, 0L),
+                stepped.getWindows().stream().map(RollingWindowPoints::getPoints).toList());
+    }
+
+    @Test
+    void testGetRollingRewards_AppliesCampaignsPerTransaction() {
+
+        when(transactionRepository.getCustomerById("C1"))
+                .thenReturn(Optional.of(customer));
+
+        when(transactionRepository.streamTransactionsForCustomerId(
+                anyString(), any(), any()))
+                .thenAnswer(invocation -> Stream.of(txnJan, txnFeb, txnMar));
+
+        campaignService.addCampaign(new CampaignRequest("Double February",
+                LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29), 2.0, Set.of("C1")));
+
+        RollingRewardSummary rolling = rewardService.getRollingRewards(
+                "C1", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31), 1, 1);
+
+        assertEquals(List.of(90L, 60L, 10L),
+                rolling.getWindows().stream().map(RollingWindowPoints::getPoints).toList());
+        verify(transactionRepository, never()).getMonthlyPoints(any(), any(), any());
+    }
+
+    @Test
+    void testGetRollingRewards_WindowLongerThanRange() {
+
+        when(transactionRepository.getCustomerById("C1"))
+                .thenReturn(Optional.of(customer));
+
+        assertThrows(DataValidationException.class, () ->
+                rewardService.getRollingRewards(
+                        "C1", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 29), 3, 1));
+    }
+
+    @Test
+    void testGetCustomerRewards_RangeOverBucketCapIsRejected() {
+
+        when(transactionRepository.getCustomerById("C1"))
+                .thenReturn(Optional.of(customer));
+
+        // spans more day buckets than an int can hold
+        assertThrows(DataValidationException.class, () ->
+                rewardService.getCustomerRewards(
+                        "C1", LocalDate.of(-1_000_000, 1, 1), LocalDate.of(2024, 1, 1), Granularity.DAY));
+        assertThrows(DataValidationException.class, () ->
+                rewardService.getCustomerRewards(
+                        "C1", LocalDate.of(1990, 1, 1), LocalDate.of(2024, 1, 1), Granularity.DAY));
+        // few year buckets, but too many months for the coverage check
+        assertThrows(DataValidationException.class, () ->
+                rewardService.getCustomerRewards(
+                        "C1", LocalDate.of(1000, 1, 1), LocalDate.of(2024, 1, 1), Granularity.YEAR));
+        verify(transactionRepository, never()).streamTransactionsForCustomerId(any(), any(), any());
+    }
+
+    @Test
+    void testGetRollingRewards_RangeOverBucketCapIsRejected() {
+
+        when(transactionRepository.getCustomerById("C1"))
+                .thenReturn(Optional.of(customer));
+
+        assertThrows(DataValidationException.class, () ->
+                rewardService.getRollingRewards(
+                        "C1", LocalDate.of(-1_000_000, 1, 1), LocalDate.of(2024, 1, 1), 3, 1));
+        verify(transactionRepository, never()).getMonthlyPoints(any(), any(), any());
+    }
+
+    @Test
+    void testGranularityBucketCountDoesNotWrap() {
+        LocalDate first = LocalDate.MIN;
+        LocalDate last = LocalDate.MAX;
+
+        assertTrue(Granularity.DAY.bucketCount(first, last) > Integer.MAX_VALUE);
+        assertThrows(ArithmeticException.class, () -> Granularity.DAY.bucketIndex(first, last));
+    }
+
+    @Test
+    void testGranularityBucketKeys() {
+        LocalDate origin = LocalDate.of(2023, 12, 30);
+
+        assertEquals("2024-01-01", Granularity.DAY.bucketKey(origin, 2));
+        assertEquals("2023-W52", Granularity.WEEK.bucketKey(origin, 0));
+        assertEquals("2024-W01", Granularity.WEEK.bucketKey(origin, 1));
+        assertEquals("2024-01", Granularity.MONTH.bucketKey(origin, 1));
+        assertEquals("2024-Q1", Granularity.QUARTER.bucketKey(origin, 1));
+        assertEquals("2024", Granularity.YEAR.bucketKey(origin, 1));
+        assertEquals(1, Granularity.WEEK.bucketIndex(origin, LocalDate.of(2024, 1, 1)));
+    }
+
+}
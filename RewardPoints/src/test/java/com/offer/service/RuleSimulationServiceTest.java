@@ -0,0 +1,104 @@
+package com.offer.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.offer.dto.RuleSetRequest;
+import com.offer.dto.RuleSetSimulation;
+import com.offer.dto.SimulationRequest;
+import com.offer.dto.SimulationResult;
+import com.offer.dto.TierRule;
+import com.offer.exception.DataValidationException;
+import com.offer.model.Transaction;
+import com.offer.repository.TransactionRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class RuleSimulationServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    private RuleSimulationService service;
+
+    @BeforeEach
+    void setUp() {
+        // One customer per partition, so the partitions really are merged
+        service = new RuleSimulationService(transactionRepository, 2, 1, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void testSimulatesCandidatesNextToCurrentRules() {
+        when(transactionRepository.getCustomerIds()).thenReturn(List.of("1", "2", "3"));
+        stubTransactions("1", new Transaction("1", 120.0, LocalDate.of(2025, 1, 10), "grocery"),
+                new Transaction("1", 75.0, LocalDate.of(2025, 2, 5), "fuel"));
+        stubTransactions("2", new Transaction("2", 200.0, LocalDate.of(2025, 1, 3), "travel"));
+        stubTransactions("3");
+
+        SimulationResult result = service.simulate(new SimulationRequest(List.of(
+                new RuleSetRequest("flat", List.of(new TierRule(0, 1))),
+                new RuleSetRequest("generous", List.of(new TierRule(100, 3), new TierRule(25, 1))))));
+
+        assertEquals(3, result.getCustomers());
+        assertEquals(3, result.getTransactions());
+        // current: 90 + 250 in January, 25 in February
+        assertSimulation(result.getCurrent(), "current", 365, Map.of("2025-01", 340L, "2025-02", 25L));
+        assertSimulation(result.getRuleSets().get(0), "flat", 395, Map.of("2025-01", 320L, "2025-02", 75L));
+        // 60 + 75, 300 + 75 and 50
+        assertSimulation(result.getRuleSets().get(1), "generous", 560, Map.of("2025-01", 510L, "2025-02", 50L));
+        assertEquals(List.of("2025-01", "2025-02"), List.copyOf(result.getCurrent().getPointsPerMonth().keySet()));
+    }
+
+    @Test
+    void testCurrentTierRulesMatchPointsCalculator() {
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            double amount = random.nextInt(50_000) / 100.0;
+            assertEquals(PointsCalculator.calculatePoints(amount), TierRules.CURRENT.calculatePoints(amount));
+        }
+        TierRules sameAsCurrent = TierRules.of(List.of(new TierRule(100, 2), new TierRule(50, 1)));
+        assertEquals(PointsCalculator.calculatePoints(130.55), sameAsCurrent.calculatePoints(130.55));
+    }
+
+    @Test
+    void testRejectsDuplicateNamesAndThresholds() {
+        List<TierRule> tiers = List.of(new TierRule(50, 1));
+        assertThrows(DataValidationException.class, () -> service.simulate(new SimulationRequest(
+                List.of(new RuleSetRequest("a", tiers), new RuleSetRequest("a", tiers)))));
+        assertThrows(DataValidationException.class,
+                () -> TierRules.of(List.of(new TierRule(50, 1), new TierRule(50, 2))));
+    }
+
+    private void stubTransactions(String customerId, Transaction... transactions) {
+        when(transactionRepository.streamTransactionsForCustomerId(eq(customerId), any(), any()))
+                .thenAnswer(invocation -> Stream.of(transactions));
+    }
+
+    private static void assertSimulation(RuleSetSimulation simulation, String name, long totalPoints,
+            Map<String, Long> pointsPerMonth) {
+        assertEquals(name, simulation.getName());
+        assertEquals(totalPoints, simulation.getTotalPoints());
+        assertEquals(pointsPerMonth, simulation.getPointsPerMonth());
+    }
+}
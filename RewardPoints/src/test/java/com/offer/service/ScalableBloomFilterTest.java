@@ -0,0 +1,44 @@
+package com.offer.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class ScalableBloomFilterTest {
+
+    @Test
+    void testAddedKeysAreAlwaysFound() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.01);
+        for (int i = 0; i < 5_000; i++) {
+            filter.add("C1\u0000key-" + i);
+        }
+
+        for (int i = 0; i < 5_000; i++) {
+            assertTrue(filter.mightContain("C1\u0000key-" + i));
+        }
+    }
+
+    @Test
+    void testGrowsLayersAndKeepsFalsePositiveRateBounded() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+        for (int i = 0; i < 20_000; i++) {
+            filter.add("pos-" + i);
+        }
+
+        // 1k + 2k + 4k + 8k + 16k capacity
+        assertEquals(5, filter.layerCount());
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 1_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void testRejectsInvalidSizing() {
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(100, 1.0));
+    }
+}
@@ -0,0 +1,231 @@
+package com.offer.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.offer.dto.CampaignBonus;
+import com.offer.dto.CampaignRequest;
+import com.offer.dto.RewardTransactionPoints;
+import com.offer.dto.TransactionRequest;
+import com.offer.exception.CustomerNotFoundException;
+import com.offer.exception.DataValidationException;
+import com.offer.exception.DuplicateTransactionException;
+import com.offer.model.Customer;
+import com.offer.model.Transaction;
+import com.offer.repository.TransactionRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionServiceImplTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CampaignService campaignService;
+
+    private TransactionServiceImpl transactionService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        campaignService = new CampaignService();
+        transactionService = new TransactionServiceImpl(transactionRepository,
+                new CustomerPointsTally(transactionRepository, campaignService), campaignService,
+                new IdempotencyGuard(transactionRepository, 1_000, 0.001, 8, meterRegistry), eventPublisher,
+                meterRegistry);
+    }
+
+    @Test
+    void testIngestStoresTransactionAndPublishesRunningTotals() {
+        when(transactionRepository.getCustomerById("C1"))
+                .thenReturn(Optional.of(new Customer("C1", "John", "john@test.com")));
+        // history: 90 points in January, 30 points in February
+        when(transactionRepository.streamTransactionsForCustomerId(eq("C1"), any(), any()))
+                .thenAnswer(invocation -> Stream.of(new Transaction("C1", 120, LocalDate.of(2024, 1, 10)),
+                        new Transaction("C1", 80, LocalDate.of(2024, 2, 5))));
+
+        RewardTransactionPoints first = transactionService.ingest(
+                new TransactionRequest("C1", 60, LocalDate.of(2024, 2, 20))); // 10 points
+        RewardTransactionPoints second = transactionService.ingest(
+                new TransactionRequest("C1", 110, LocalDate.of(2024, 2, 21))); // 70 points
+
+        assertEquals(10, first.getPoints());
+        assertEquals(70, second.getPoints());
+        verify(transactionRepository, times(2)).addTransaction(any(Transaction.class));
+
+        ArgumentCaptor<PointsEarnedEvent> events = ArgumentCaptor.forClass(PointsEarnedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        PointsEarnedEvent last = events.getAllValues().get(1);
+        assertEquals(second.getTransactionId(), last.transaction().getId());
+        assertEquals(YearMonth.of(2024, 2), last.month());
+        assertEquals(40, last.previousMonthPoints());
+        assertEquals(110, last.monthPoints());
+        assertEquals(200, last.totalPoints());
+    }
+
+    @Test
+    void testCampaignBonusesAreCreditedOnIngestAndInTheLoadedTotals() {
+        campaignService.addCampaign(new CampaignRequest("Double February", LocalDate.of(2024, 2, 1),
+                LocalDate.of(2024, 2, 29), 2, Set.of("C1")));
+        when(transactionRepository.getCustomerById("C1"))
+                .thenReturn(Optional.of(new Customer("C1", "John", "john@test.com")));
+        // history: 90 points in January, 30 + 30 bonus points in February
+        when(transactionRepository.streamTransactionsForCustomerId(eq("C1"), any(), any()))
+                .thenAnswer(invocation -> Stream.of(new Transaction("C1", 120, LocalDate.of(2024, 1, 10)),
+                        new Transaction("C1", 80, LocalDate.of(2024, 2, 5))));
+
+        RewardTransactionPoints stored = transactionService.ingest(
+                new TransactionRequest("C1", 60, LocalDate.of(2024, 2, 20))); // 10 + 10 bonus points
+
+        assertEquals(20, stored.getPoints());
+        assertEquals(List.of(10L), stored.getCampaigns().stream().map(CampaignBonus::getBonusPoints).toList());
+        ArgumentCaptor<PointsEarnedEvent> event = ArgumentCaptor.forClass(PointsEarnedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(20, event.getValue().pointsEarned());
+        assertEquals(60, event.getValue().previousMonthPoints());
+        assertEquals(80, event.getValue().monthPoints());
+        assertEquals(170, event.getValue().totalPoints());
+    }
+
+    @Test
+    void testFailedStoreLeavesTotalsUntouched() {
+        when(transactionRepository.getCustomerById("C1"))
+                .thenReturn(Optional.of(new Customer("C1", "John", "john@test.com")));
+        when(transactionRepository.streamTransactionsForCustomerId(eq("C1"), any(), any()))
+                .thenAnswer(invocation -> Stream.empty());
+        doThrow(new IllegalStateException("store down")).doNothing().when(transactionRepository)
+                .addTransaction(any(Transaction.class));
+
+        assertThrows(IllegalStateException.class, () ->
+                transactionService.ingest(new TransactionRequest("C1", 120, LocalDate.of(2024, 2, 20))));
+        verify(eventPublisher, never()).publishEvent(any());
+
+        transactionService.ingest(new TransactionRequest("C1", 60, LocalDate.of(2024, 2, 21)));
+
+        ArgumentCaptor<PointsEarnedEvent> event = ArgumentCaptor.forClass(PointsEarnedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        // the failed 90 points were never counted
+        assertEquals(0, event.getValue().previousMonthPoints());
+        assertEquals(10, event.getValue().totalPoints());
+    }
+
+    @Test
+    void testFailingListenerDoesNotFailStoredIngest() {
+        when(transactionRepository.getCustomerById("C1"))
+                .thenReturn(Optional.of(new Customer("C1", "John", "john@test.com")));
+        when(transactionRepository.streamTransactionsForCustomerId(eq("C1"), any(), any()))
+                .thenAnswer(invocation -> Stream.empty());
+        doThrow(new IllegalStateException("listener broken")).when(eventPublisher).publishEvent(any());
+
+        TransactionRequest request = new TransactionRequest("C1", 120, LocalDate.of(2024, 2, 20));
+        request.setIdempotencyKey("pos-7-0002");
+        RewardTransactionPoints stored = transactionService.ingest(request);
+
+        assertEquals(90, stored.getPoints());
+        assertEquals(1.0, meterRegistry.get("rewards.ingest.listener.failures").counter().count());
+        // the key was still remembered, so a retry is checked against the store
+        when(transactionRepository.findByIdempotencyKey("C1", "pos-7-0002")).thenReturn(
+                Optional.of(new Transaction(stored.getTransactionId(), "C1", 120, LocalDate.of(2024, 2, 20))));
+        assertThrows(DuplicateTransactionException.class, () -> transactionService.ingest(request));
+    }
+
+    @Test
+    void testIngestRejectsUnknownCustomer() {
+        when(transactionRepository.getCustomerById("C99")).thenReturn(Optional.empty());
+
+        assertThrows(CustomerNotFoundException.class, () ->
+                transactionService.ingest(new TransactionRequest("C99", 60, LocalDate.of(2024, 2, 20))));
+        verify(transactionRepository, never()).addTransaction(any());
+    }
+
+    @Test
+    void testIngestRejectsFutureDate() {
+        when(transactionRepository.getCustomerById("C1"))
+                .thenReturn(Optional.of(new Customer("C1", "John", "john@test.com")));
+
+        assertThrows(DataValidationException.class, () ->
+                transactionService.ingest(new TransactionRequest("C1", 60, LocalDate.now().plusDays(1))));
+        verify(transactionRepository, never()).addTransaction(any());
+    }
+
+    @Test
+    void testIngestRejectsSubCentAmount() {
+        when(transactionRepository.getCustomerById("C1"))
+                .thenReturn(Optional.of(new Customer("C1", "John", "john@test.com")));
+
+        assertThrows(DataValidationException.class, () ->
+                transactionService.ingest(new TransactionRequest("C1", 100.004, LocalDate.of(2024, 2, 20))));
+        verify(transactionRepository, never()).addTransaction(any());
+    }
+
+    @Test
+    void testRetryWithSameIdempotencyKeyIsRejected() {
+        when(transactionRepository.getCustomerById("C1"))
+                .thenReturn(Optional.of(new Customer("C1", "John", "john@test.com")));
+        when(transactionRepository.streamTransactionsForCustomerId(eq("C1"), any(), any()))
+                .thenAnswer(invocation -> Stream.empty());
+
+        TransactionRequest request = new TransactionRequest("C1", 120, LocalDate.of(2024, 2, 20));
+        request.setIdempotencyKey("pos-7-0001");
+        RewardTransactionPoints stored = transactionService.ingest(request);
+
+        // a first-time key is ruled out by the Bloom filter without an exact lookup
+        verify(transactionRepository, never()).findByIdempotencyKey(any(), any());
+
+        Transaction original = new Transaction(stored.getTransactionId(), "C1", 120, LocalDate.of(2024, 2, 20));
+        when(transactionRepository.findByIdempotencyKey("C1", "pos-7-0001")).thenReturn(Optional.of(original));
+
+        DuplicateTransactionException duplicate = assertThrows(DuplicateTransactionException.class,
+                () -> transactionService.ingest(request));
+        assertEquals(stored.getTransactionId(), duplicate.getTransactionId());
+        verify(transactionRepository, times(1)).addTransaction(any(Transaction.class));
+        verify(eventPublisher, times(1)).publishEvent(any(PointsEarnedEvent.class));
+        assertEquals(1.0, meterRegistry.get("rewards.ingest.dedup").tag("outcome", "new").counter().count());
+        assertEquals(1.0, meterRegistry.get("rewards.ingest.dedup").tag("outcome", "duplicate").counter().count());
+    }
+
+    @Test
+    void testSameIdempotencyKeyForAnotherCustomerIsStored() {
+        when(transactionRepository.getCustomerById(any()))
+                .thenAnswer(invocation -> Optional.of(new Customer(invocation.getArgument(0), "John", "john@test.com")));
+        when(transactionRepository.streamTransactionsForCustomerId(any(), any(), any()))
+                .thenAnswer(invocation -> Stream.empty());
+
+        TransactionRequest first = new TransactionRequest("C1", 120, LocalDate.of(2024, 2, 20));
+        first.setIdempotencyKey("receipt-1");
+        TransactionRequest second = new TransactionRequest("C2", 120, LocalDate.of(2024, 2, 20));
+        second.setIdempotencyKey("receipt-1");
+
+        transactionService.ingest(first);
+        transactionService.ingest(second);
+
+        verify(transactionRepository, times(2)).addTransaction(any(Transaction.class));
+    }
+}
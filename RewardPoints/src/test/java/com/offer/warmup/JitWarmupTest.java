@@ -0,0 +1,127 @@
+package com.offer.warmup;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.offer.controller.RewardController;
+import com.offer.controller.RewardSummaryHttpMessageConverter;
+import com.offer.dto.Granularity;
+import com.offer.dto.RewardSummary;
+import com.offer.repository.MonthlyPoints;
+import com.offer.repository.TransactionRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JitWarmupTest {
+
+    private RewardController rewardController;
+    private TransactionRepository transactionRepository;
+    private LoggingSystem loggingSystem;
+    private SimpleMeterRegistry meterRegistry;
+    private RewardSummaryHttpMessageConverter rewardSummaryConverter;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        rewardController = mock(RewardController.class);
+        transactionRepository = mock(TransactionRepository.class);
+        loggingSystem = mock(LoggingSystem.class);
+        meterRegistry = new SimpleMeterRegistry();
+        rewardSummaryConverter = spy(new RewardSummaryHttpMessageConverter(8192, 2));
+        objectMapper = spy(new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    private JitWarmup warmup(Duration timeBudget, int minIterations, LongSupplier compilationMillis) {
+        return new JitWarmup(rewardController, transactionRepository, rewardSummaryConverter, objectMapper,
+                loggingSystem, meterRegistry, timeBudget, minIterations, 100, 3, 5, compilationMillis);
+    }
+
+    private void givenOneMonthOfData() {
+        when(transactionRepository.getCustomerIds()).thenReturn(List.of("1"));
+        when(transactionRepository.getMonthlyPoints(eq("1"), any(), any()))
+                .thenReturn(List.of(new MonthlyPoints(YearMonth.of(2024, 1), 90, 1)));
+        when(rewardController.getRewards(eq("1"), any(), any(), any(), any())).thenReturn(new RewardSummary());
+    }
+
+    @Test
+    void testStopsOnceCompilationTimeIsFlat() {
+        givenOneMonthOfData();
+        AtomicLong compilation = new AtomicLong();
+        // compilation keeps growing for the first rounds, then settles
+        JitWarmup warmup = warmup(Duration.ofMinutes(1), 300,
+                () -> compilation.get() < 1_000 ? compilation.addAndGet(100) : compilation.get());
+
+        warmup.run(null);
+
+        // 9 busy rounds, then 3 quiet ones
+        assertEquals(1_200, warmup.getIterations());
+        assertEquals(1, meterRegistry.get("rewards.warmup").tag("outcome", "compiled").timer().count());
+        verify(rewardController, atLeastOnce()).getRewards("1", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31),
+                Granularity.DAY, null);
+        verify(rewardController, atLeastOnce()).getRollingRewards(eq("1"), any(), any(), anyInt(), anyInt());
+        verify(loggingSystem).setLogLevel(RewardController.class.getName(), LogLevel.WARN);
+        verify(loggingSystem).setLogLevel(RewardController.class.getName(), null);
+    }
+
+    @Test
+    void testSummariesAreEncodedWithTheRegisteredConverter() throws Exception {
+        givenOneMonthOfData();
+        RewardSummary summary = new RewardSummary("1", "John", "john@test.com", Map.of("2024-01", 90L), 90L,
+                List.of());
+        when(rewardController.getRewards(eq("1"), any(), any(), any(), any())).thenReturn(summary);
+
+        JitWarmup warmup = warmup(Duration.ofMinutes(1), 100, () -> 0);
+        warmup.run(null);
+
+        verify(rewardSummaryConverter, atLeastOnce()).write(eq(summary), eq(MediaType.APPLICATION_JSON), any());
+        verify(objectMapper, never()).writeValueAsBytes(any(RewardSummary.class));
+        assertEquals(1, meterRegistry.get("rewards.warmup").tag("outcome", "compiled").timer().count());
+    }
+
+    @Test
+    void testStopsWhenTimeBudgetRunsOut() {
+        givenOneMonthOfData();
+        AtomicLong compilation = new AtomicLong();
+
+        JitWarmup warmup = warmup(Duration.ofMillis(50), 0, () -> compilation.addAndGet(100));
+        warmup.run(null);
+
+        assertTrue(warmup.getIterations() > 0);
+        assertEquals(1, meterRegistry.get("rewards.warmup").tag("outcome", "time_budget").timer().count());
+    }
+
+    @Test
+    void testSkipsWithoutData() {
+        when(transactionRepository.getCustomerIds()).thenReturn(List.of());
+
+        JitWarmup warmup = warmup(Duration.ofSeconds(1), 100, () -> 0);
+        warmup.run(null);
+
+        assertEquals(0, warmup.getIterations());
+        verify(rewardController, never()).getRewards(any(), any(), any(), any(), any());
+    }
+}